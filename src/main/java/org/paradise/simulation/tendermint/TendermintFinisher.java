@@ -35,6 +35,7 @@ public class TendermintFinisher implements SimulationFinisher {
         displayTransactionVerification();
         displayVerifyDoublonInBC(TendermintSetup.getInitialBlockchain().currentHeight() + 1L);
         displayBlockFill();
+        displayMemoryPool();
     }
 
     public static void setBegin(double begin) {
@@ -124,14 +125,14 @@ public class TendermintFinisher implements SimulationFinisher {
 
     private boolean isCorrectAtHeight(List<Block<TendermintTransaction>> blockAtHeight, int i) {
         boolean correct = true;
-        Block<TendermintTransaction> previous = blockAtHeight.get(0);
+        String previousHash = blockAtHeight.get(0).sha256Base64Hash();
         for (int j = 1; j < blockAtHeight.size(); j++) {
-            Block<TendermintTransaction> current = blockAtHeight.get(j);
-            if (!current.sha256Base64Hash().equals(previous.sha256Base64Hash())) {
-                log.error("Different block for the height {}, {} != {}", i, previous.sha256Base64Hash(), current.sha256Base64Hash());
+            String currentHash = blockAtHeight.get(j).sha256Base64Hash();
+            if (!currentHash.equals(previousHash)) {
+                log.error("Different block for the height {}, {} != {}", i, previousHash, currentHash);
                 correct = false;
             }
-            previous = current;
+            previousHash = currentHash;
         }
         return correct;
     }
@@ -377,6 +378,33 @@ public class TendermintFinisher implements SimulationFinisher {
         log.info("Block size average = {}", sizeAverage);
     }
 
+    private void displayMemoryPool() {
+        displayLogTitle("Memory pool");
+
+        long totalEvicted = 0L;
+        long totalRefused = 0L;
+        long totalExpired = 0L;
+        long maxEvicted = 0L;
+        long totalRemaining = 0L;
+        for (SimpleAgent agent : PalmBeachSimulation.allAgents()) {
+            if (isTendermintValidator(agent)) {
+                TendermintValidator tendermintValidator = agent.getProtocol(TendermintValidator.class);
+                long evicted = tendermintValidator.evictedTxCount();
+                totalEvicted += evicted;
+                maxEvicted = Math.max(maxEvicted, evicted);
+                totalRefused += tendermintValidator.refusedTxCount();
+                totalExpired += tendermintValidator.getExpiredTxCount();
+                totalRemaining += tendermintValidator.memoryPoolSize();
+            }
+        }
+
+        log.info("Total evicted tx = {}", totalEvicted);
+        log.info("Max evicted tx by a validator = {}", maxEvicted);
+        log.info("Total refused tx = {}", totalRefused);
+        log.info("Total expired tx = {}", totalExpired);
+        log.info("Total tx remaining in memory pools = {}", totalRemaining);
+    }
+
     private List<Blockchain<TendermintTransaction>> getAllBlockchains(List<SimpleAgent> agents) {
         List<Blockchain<TendermintTransaction>> allBlockchains = Lists.newArrayList();
         for (SimpleAgent agent : agents) {
@@ -17,6 +17,9 @@ import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
 import org.paradise.simulation.tendermint.transaction.money.TendermintLockStakeTx;
 import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
 import org.paradise.simulation.tendermint.validator.TendermintValidator;
+import org.paradise.simulation.tendermint.validator.ValidatorRegistry;
+import org.paradise.simulation.tendermint.validator.pos.CommitteeCache;
+import org.paradise.simulation.tendermint.validator.pos.ProofOfStakeCheckpoints;
 
 import java.util.List;
 import java.util.Map;
@@ -46,6 +49,9 @@ public class TendermintSetup implements SimulationSetup {
                 .map(agent -> agent.getProtocol(TendermintValidator.class))
                 .collect(Collectors.toSet());
         log.info("Validators size = {}", validators.size());
+        registerValidators(validators);
+        CommitteeCache.instance().clear();
+        ProofOfStakeCheckpoints.instance().clear();
         BlockchainInitiator blockchainInitiator = new BlockchainInitiator();
         Blockchain<TendermintTransaction> initialBC = blockchainInitiator.generateBlockchain(validators);
         log.info("Initial BC size = {}", initialBC.currentHeight());
@@ -60,6 +66,14 @@ public class TendermintSetup implements SimulationSetup {
         TendermintFinisher.setBegin(System.currentTimeMillis());
     }
 
+    private void registerValidators(Set<TendermintValidator> validators) {
+        ValidatorRegistry registry = ValidatorRegistry.instance();
+        registry.clear();
+        for (TendermintValidator validator : validators) {
+            registry.register(validator.getAddress(), validator.getAgent().getIdentifier());
+        }
+    }
+
     private boolean isValidator(SimpleAgent agent) {
         return agent.getProtocol(TendermintValidator.class) != null;
     }
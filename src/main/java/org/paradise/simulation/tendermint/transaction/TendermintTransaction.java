@@ -1,12 +1,37 @@
 package org.paradise.simulation.tendermint.transaction;
 
-import lombok.EqualsAndHashCode;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import lombok.NonNull;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 
-@EqualsAndHashCode(callSuper = true)
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import static org.apache.commons.codec.binary.Base64.encodeBase64String;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+
+/**
+ * Tendermint transactions are immutable, therefore their sha256 hash is computed one time, the first time it is needed, and is used for
+ * {@link #equals(Object)} and {@link #hashCode()}. Computing it lazily guarantees that all fields of the concrete class are set. Transactions are
+ * shared between validators which run on several threads, the hash is published through a volatile field holding an immutable {@link Hash}. The
+ * base64 representation of the hash is only computed the first time it is asked.
+ */
 public abstract class TendermintTransaction extends Transaction {
 
+    // Constants.
+
+    /**
+     * Estimated size in bytes of the transaction header: type, timestamp and hash.
+     */
+    protected static final int HEADER_ESTIMATED_SIZE = 1 + Long.BYTES + 32;
+
+    // Variables.
+
+    private volatile Hash hash;
+    private volatile String base64Hash;
+
     // Constructors.
 
     protected TendermintTransaction(long timestamp, @NonNull String sender) {
@@ -15,6 +40,82 @@ public abstract class TendermintTransaction extends Transaction {
 
     // Methods.
 
+    /**
+     * @return the sha256 hash of the transaction, computed at the first call. Concurrent first calls compute the same hash.
+     */
+    private Hash hash() {
+        Hash current = hash;
+        if (current == null) {
+            MessageDigest digest = getSha256Digest();
+            updateDigest(digest, getClass().getName());
+            updateDigest(digest, getTimestamp());
+            updateDigest(digest, getSender());
+            hashFields(digest);
+            byte[] bytes = digest.digest();
+            current = new Hash(bytes, Ints.fromByteArray(bytes));
+            hash = current;
+        }
+        return current;
+    }
+
+    /**
+     * Add to the digest the specific fields of the transaction. Overriding methods must call the super method.
+     *
+     * @param digest the sha256 digest of the transaction
+     */
+    protected void hashFields(MessageDigest digest) {
+        // Nothing, timestamp and sender are already hashed.
+    }
+
+    protected static void updateDigest(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(Ints.toByteArray(bytes.length));
+        digest.update(bytes);
+    }
+
+    protected static void updateDigest(MessageDigest digest, long value) {
+        digest.update(Longs.toByteArray(value));
+    }
+
+    /**
+     * @return a copy of the 32 bytes sha256 hash of the transaction.
+     */
+    public byte[] sha256Hash() {
+        return hash().bytes().clone();
+    }
+
+    @Override
+    public final String sha256Base64Hash() {
+        String current = base64Hash;
+        if (current == null) {
+            current = encodeBase64String(hash().bytes());
+            base64Hash = current;
+        }
+        return current;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TendermintTransaction that = (TendermintTransaction) o;
+        Hash thisHash = hash();
+        Hash thatHash = that.hash();
+        return thisHash.intValue() == thatHash.intValue() && Arrays.equals(thisHash.bytes(), thatHash.bytes());
+    }
+
+    @Override
+    public final int hashCode() {
+        return hash().intValue();
+    }
+
+    /**
+     * @return the estimated size in bytes of the transaction once serialized.
+     */
+    public int estimatedSize() {
+        return HEADER_ESTIMATED_SIZE + getSender().length();
+    }
+
     @Override
     public String toString() {
         return "[" + this.getClass().getSimpleName() + ", " + sha256Base64Hash() + ", " + " sender " + getSender() + ", receiver " + "]";
@@ -23,4 +124,9 @@ public abstract class TendermintTransaction extends Transaction {
     public boolean isBasicValid() {
         return getTimestamp() > 0L && !getSender().isBlank();
     }
+
+    // Inner classes.
+
+    private record Hash(byte[] bytes, int intValue) {
+    }
 }
@@ -1,11 +1,11 @@
 package org.paradise.simulation.tendermint.transaction.money;
 
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
 
-@EqualsAndHashCode(callSuper = true)
+import java.security.MessageDigest;
+
 public abstract class TendermintAmountTx extends TendermintTransaction {
 
     // Variables.
@@ -22,6 +22,16 @@ public abstract class TendermintAmountTx extends TendermintTransaction {
 
     // Methods.
 
+    @Override
+    protected void hashFields(MessageDigest digest) {
+        super.hashFields(digest);
+        updateDigest(digest, amount);
+    }
+
+    @Override
+    public int estimatedSize() {
+        return super.estimatedSize() + Long.BYTES;
+    }
 
     @Override
     public boolean isBasicValid() {
@@ -1,15 +1,11 @@
 package org.paradise.simulation.tendermint.transaction.money;
 
-import com.google.common.primitives.Longs;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 
-import static org.apache.commons.codec.binary.Base64.encodeBase64String;
-import static org.apache.commons.codec.digest.DigestUtils.sha256;
+import java.security.MessageDigest;
 
-@EqualsAndHashCode(callSuper = true)
 public class TendermintLockStakeTx extends TendermintAmountTx {
 
     // Constants.
@@ -36,14 +32,14 @@ public class TendermintLockStakeTx extends TendermintAmountTx {
     }
 
     @Override
-    public String sha256Base64Hash() {
-        String senderHash = encodeBase64String(sha256(getSender()));
-        String amountHash = encodeBase64String(sha256(Longs.toByteArray(getAmount())));
-        String minTimeHash = encodeBase64String(sha256(Longs.toByteArray(getMinTime())));
-
-        String concat = senderHash + amountHash + minTimeHash;
+    protected void hashFields(MessageDigest digest) {
+        super.hashFields(digest);
+        updateDigest(digest, minTime);
+    }
 
-        return encodeBase64String(sha256(concat));
+    @Override
+    public int estimatedSize() {
+        return super.estimatedSize() + Long.BYTES;
     }
 
     @Override
@@ -1,15 +1,11 @@
 package org.paradise.simulation.tendermint.transaction.money;
 
-import com.google.common.primitives.Longs;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 
-import static org.apache.commons.codec.binary.Base64.encodeBase64String;
-import static org.apache.commons.codec.digest.DigestUtils.sha256;
+import java.security.MessageDigest;
 
-@EqualsAndHashCode(callSuper = true)
 public class TendermintMoneyTx extends TendermintAmountTx {
 
     // Variables.
@@ -37,15 +33,15 @@ public class TendermintMoneyTx extends TendermintAmountTx {
     }
 
     @Override
-    public String sha256Base64Hash() {
-        String senderHash = encodeBase64String(sha256(getSender()));
-        String receiverHash = encodeBase64String(sha256(getReceiver()));
-        String amountHash = encodeBase64String(sha256(Longs.toByteArray(getAmount())));
-        String feesHash = encodeBase64String(sha256(Longs.toByteArray(getFees())));
-
-        String concat = senderHash + receiverHash + amountHash + feesHash;
+    protected void hashFields(MessageDigest digest) {
+        super.hashFields(digest);
+        updateDigest(digest, receiver);
+        updateDigest(digest, fees);
+    }
 
-        return encodeBase64String(sha256(concat));
+    @Override
+    public int estimatedSize() {
+        return super.estimatedSize() + receiver.length() + Long.BYTES;
     }
 
     @Override
@@ -0,0 +1,44 @@
+package org.paradise.simulation.tendermint.validator;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+
+/**
+ * A {@link Block} with its {@link ValueId}. The id is the block sha256 hash, it is computed one time at the creation and then reused everywhere the
+ * validator needs to identify the block. Two identified blocks are equal if they have the same id.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class IdentifiedBlock {
+
+    // Variables.
+
+    @Getter
+    @NonNull
+    private final Block<TendermintTransaction> block;
+
+    @Getter
+    @NonNull
+    @EqualsAndHashCode.Include
+    private final ValueId id;
+
+    // Constructors.
+
+    public IdentifiedBlock(@NonNull Block<TendermintTransaction> block) {
+        this.block = block;
+        this.id = ValueId.ofBase64(block.sha256Base64Hash());
+    }
+
+    // Methods.
+
+    public long getHeight() {
+        return block.getHeight();
+    }
+
+    @Override
+    public String toString() {
+        return "[Block " + block.getHeight() + ", " + id + "]";
+    }
+}
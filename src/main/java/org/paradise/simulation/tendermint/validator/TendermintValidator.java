@@ -26,18 +26,40 @@ import org.paradise.simulation.tendermint.seed.message.NodeDirectoryMessage;
 import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
 import org.paradise.simulation.tendermint.transaction.money.TendermintLockStakeTx;
 import org.paradise.simulation.tendermint.transaction.money.TendermintUnlockStakeTx;
+import org.paradise.simulation.tendermint.validator.message.BlockPartMessage;
+import org.paradise.simulation.tendermint.validator.message.CompactProposalMessage;
+import org.paradise.simulation.tendermint.validator.message.PartSetProposalMessage;
 import org.paradise.simulation.tendermint.validator.message.PrecommitMessage;
 import org.paradise.simulation.tendermint.validator.message.PrevoteMessage;
 import org.paradise.simulation.tendermint.validator.message.ProposalMessage;
+import org.paradise.simulation.tendermint.validator.gossip.VoteAggregator;
+import org.paradise.simulation.tendermint.validator.mempool.MemoryPool;
+import org.paradise.simulation.tendermint.validator.mempool.MemoryPoolFactory;
+import org.paradise.simulation.tendermint.validator.mempool.MemoryPoolType;
+import org.paradise.simulation.tendermint.validator.mempool.TimerWheel;
 import org.paradise.simulation.tendermint.validator.message.TendermintValidatorMessage;
+import org.paradise.simulation.tendermint.validator.message.TxRequestMessage;
+import org.paradise.simulation.tendermint.validator.message.TxResponseMessage;
+import org.paradise.simulation.tendermint.validator.message.VoteBundleMessage;
+import org.paradise.simulation.tendermint.validator.pos.CommitteeCache;
 import org.paradise.simulation.tendermint.validator.pos.CommitteeSelector;
 import org.paradise.simulation.tendermint.validator.pos.CommitteeSelectorFactory;
+import org.paradise.simulation.tendermint.validator.pos.CommitteeSelectorType;
+import org.paradise.simulation.tendermint.validator.pos.ProofOfStakeCheckpoints;
 import org.paradise.simulation.tendermint.validator.pos.ProofOfStakeState;
+import org.paradise.simulation.tendermint.validator.pos.ProposerSchedule;
+import org.paradise.simulation.tendermint.validator.pos.StakeLedger;
+import org.paradise.simulation.tendermint.validator.proposal.CompactBlock;
+import org.paradise.simulation.tendermint.validator.proposal.CompactBlockBuilder;
+import org.paradise.simulation.tendermint.validator.proposal.PartSet;
+import org.paradise.simulation.tendermint.validator.proposal.PartSetProposal;
+import org.paradise.simulation.tendermint.validator.proposal.ProposalType;
+import org.paradise.simulation.tendermint.validator.state.ConsensusState;
+import org.paradise.simulation.tendermint.validator.state.VoteInbox;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.random.RandomGenerator;
-import java.util.stream.Collectors;
 
 import static org.apache.commons.codec.binary.Base64.encodeBase64String;
 import static org.paradise.palmbeach.core.simulation.PalmBeachSimulation.scheduleEvent;
@@ -62,6 +84,46 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
     public static final String COMMITTEE_SIZE = "committeeSize";
     public static final int DEFAULT_COMMITTEE_SIZE = 7;
 
+    public static final String EPOCH_LENGTH = "epochLength";
+    public static final long DEFAULT_EPOCH_LENGTH = 1L;
+
+    public static final String VOTE_BATCH_DELAY = "voteBatchDelay";
+    public static final long DEFAULT_VOTE_BATCH_DELAY = 0L;
+
+    public static final String VOTE_BUNDLE_DELAY = "voteBundleDelay";
+    public static final long DEFAULT_VOTE_BUNDLE_DELAY = 0L;
+
+    public static final String VOTE_AGGREGATOR_COUNT = "voteAggregatorCount";
+    public static final int DEFAULT_VOTE_AGGREGATOR_COUNT = 2;
+
+    public static final String POS_CHECKPOINT_INTERVAL = "posCheckpointInterval";
+    public static final long DEFAULT_POS_CHECKPOINT_INTERVAL = 100L;
+
+    public static final String POS_CHECKPOINT_DIRECTORY = "posCheckpointDirectory";
+
+    public static final String PROPOSAL_TYPE = "proposalType";
+    public static final ProposalType DEFAULT_PROPOSAL_TYPE = ProposalType.FULL;
+
+    public static final String BLOCK_PART_SIZE = "blockPartSize";
+    public static final int DEFAULT_BLOCK_PART_SIZE = 64;
+
+    public static final String COMMITTEE_SELECTOR_TYPE = "committeeSelectorType";
+    public static final CommitteeSelectorType DEFAULT_COMMITTEE_SELECTOR_TYPE = CommitteeSelectorType.SIMPLE;
+
+    public static final String MEMORY_POOL_TYPE = "memoryPoolType";
+    public static final MemoryPoolType DEFAULT_MEMORY_POOL_TYPE = MemoryPoolType.FIFO;
+
+    public static final String MEMORY_POOL_MAX_TX = "memoryPoolMaxTx";
+    public static final int DEFAULT_MEMORY_POOL_MAX_TX = 10000;
+
+    public static final String MEMORY_POOL_MAX_BYTES = "memoryPoolMaxBytes";
+    public static final long DEFAULT_MEMORY_POOL_MAX_BYTES = 1_000_000L;
+
+    public static final String TX_TIME_TO_LIVE = "txTimeToLive";
+    public static final long DEFAULT_TX_TIME_TO_LIVE = 0L;
+
+    private static final int TX_EXPIRY_WHEEL_SIZE = 256;
+
     // Variables.
 
     @Getter
@@ -75,9 +137,9 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
     @NonNull
     private Blockchain<TendermintTransaction> decision;
 
-    private Block<TendermintTransaction> lockedValue;
+    private IdentifiedBlock lockedValue;
     private long lockRound = -1;
-    private Block<TendermintTransaction> validValue;
+    private IdentifiedBlock validValue;
     private long validRound = -1;
 
     @Getter
@@ -88,27 +150,44 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
     private long timeoutPrecommit;
     private long deltaTimeout;
 
-    private final Set<Proposal> proposalReceived = Sets.newHashSet();
-    private final Map<Stage, Set<SimpleAgent.AgentIdentifier>> prevoteReceived = Maps.newHashMap();
-    private final Map<Prevote, Long> prevoteCounter = Maps.newHashMap();
-    private final Map<Stage, Set<SimpleAgent.AgentIdentifier>> precommitReceived = Maps.newHashMap();
-    private final Map<Precommit, Long> precommitCounter = Maps.newHashMap();
+    private final ConsensusState consensusState = new ConsensusState();
+
+    private final VoteInbox<TendermintValidatorMessage<ValueId>> voteInbox = new VoteInbox<>();
+    private final long batchDelay;
 
-    private final Map<Rule, Set<Stage>> ruleAlreadyExecuted = Maps.newHashMap();
+    private final VoteAggregator<TendermintValidatorMessage<ValueId>> voteAggregator;
+    private final long bundleDelay;
+    private Set<SimpleAgent.AgentIdentifier> voteTargets;
+    private long voteTargetsRound = -1L;
 
-    private final Queue<TendermintTransaction> memoryPool;
-    private final Set<TendermintTransaction> setMemoryPool;
+    private IdentifiedBlock ownProposal;
+    private final Map<Stage, PendingCompactProposal> pendingCompactProposals = Maps.newHashMap();
+    private final Map<Stage, PartSetProposalMessage> pendingPartSetProposals = Maps.newHashMap();
+    private final Map<Stage, PartSet> partSets = Maps.newHashMap();
+    private final Map<Stage, Map<SimpleAgent.AgentIdentifier, List<BlockPartMessage>>> earlyParts = Maps.newHashMap();
+    private final int maxBlockParts;
 
-    private final Set<TendermintTransaction> polledTx;
+    private final MemoryPool memoryPool;
 
+    private final TimerWheel<TendermintTransaction> txExpiry;
+    @Getter
+    private long expiredTxCount = 0L;
+
+    private final CommitteeSelector committeeSelector;
     private final Set<SimpleAgent.AgentIdentifier> groupMembership;
+    private final Map<String, SimpleAgent.AgentIdentifier> committeeMembers;
+    private Map<SimpleAgent.AgentIdentifier, Integer> committeeIndices;
+    private Map<SimpleAgent.AgentIdentifier, Integer> previousCommitteeIndices = Map.of();
+    private final List<SimpleAgent.AgentIdentifier> committeeAgents;
     private Set<String> currentCommittee;
+    private long currentEpoch = -1L;
+    private ProposerSchedule proposerSchedule;
 
-    private final Set<Rule> rules = Sets.newHashSet(new ProposalForRound(), new ProposalAndPrevoteForValidRound(), new PrevoteForRound(),
-                                                    new ProposalAndPrevoteForRound(), new PrevoteNilForRound(), new PrecommitForRound(),
-                                                    new ProposalAndPrecommitForRound(), new ChangeRound());
+    private final Map<Class<?>, List<Rule>> rules;
+    private int ruleCount = 0;
 
     private final ProofOfStakeState posState;
+    private final StakeLedger stakeLedger;
 
     // Analyse
 
@@ -124,12 +203,68 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
                                                             Sets.newHashSet()));
         initTimeout();
         getContext().map(BLOCKCHAIN, this.decision);
-        this.memoryPool = Lists.newLinkedList();
-        this.setMemoryPool = Sets.newHashSet();
-        this.polledTx = Sets.newHashSet();
+        this.memoryPool = buildMemoryPool();
+        this.voteAggregator = new VoteAggregator<>(voteAggregatorCount(), TendermintValidatorMessage::getHeight);
+        this.bundleDelay = voteBundleDelay();
+        this.batchDelay = voteBatchDelay();
+        this.maxBlockParts = (maxBlockSize() + blockPartSize() - 1) / blockPartSize();
+        this.txExpiry = buildTxExpiry();
         this.mapHeightRound = Maps.newHashMap();
+        this.committeeSelector = CommitteeSelectorFactory.committeeSelector(committeeSelectorType());
         this.groupMembership = Sets.newHashSet();
+        this.committeeMembers = Maps.newHashMap();
+        this.committeeIndices = Maps.newHashMap();
+        this.committeeAgents = Lists.newArrayList();
         this.posState = new ProofOfStakeState();
+        this.stakeLedger = new StakeLedger();
+        this.rules = buildRuleDispatchTable();
+    }
+
+    /**
+     * Map each validator message class to the rules which can fire on it. For a message class, rules are kept in the order of the Tendermint
+     * algorithm, therefore they are always evaluated in the same order.
+     *
+     * @return the rule dispatch table
+     */
+    private Map<Class<?>, List<Rule>> buildRuleDispatchTable() {
+        final Rule proposalForRound = new ProposalForRound();
+        final Rule proposalAndPrevoteForValidRound = new ProposalAndPrevoteForValidRound();
+        final Rule prevoteForRound = new PrevoteForRound();
+        final Rule proposalAndPrevoteForRound = new ProposalAndPrevoteForRound();
+        final Rule prevoteNilForRound = new PrevoteNilForRound();
+        final Rule precommitForRound = new PrecommitForRound();
+        final Rule proposalAndPrecommitForRound = new ProposalAndPrecommitForRound();
+        final Rule changeRound = new ChangeRound();
+
+        Map<Class<?>, List<Rule>> dispatchTable = Maps.newHashMap();
+        dispatchTable.put(ProposalMessage.class, List.of(proposalForRound, proposalAndPrevoteForValidRound, proposalAndPrevoteForRound,
+                                                         proposalAndPrecommitForRound, changeRound));
+        dispatchTable.put(PrevoteMessage.class, List.of(proposalAndPrevoteForValidRound, prevoteForRound, proposalAndPrevoteForRound,
+                                                        prevoteNilForRound, changeRound));
+        dispatchTable.put(PrecommitMessage.class, List.of(precommitForRound, proposalAndPrecommitForRound, changeRound));
+
+        return dispatchTable;
+    }
+
+    private MemoryPool buildMemoryPool() {
+        MemoryPoolType type = memoryPoolType();
+        log.debug("{} use memory pool {}", getAgent().getIdentifier(), type);
+        return switch (type) {
+            case FIFO -> MemoryPoolFactory.fifoMemoryPool();
+            case FEE_PRIORITY -> MemoryPoolFactory.feePriorityMemoryPool(memoryPoolMaxTx(), memoryPoolMaxBytes());
+            case ACCOUNT_LANE -> MemoryPoolFactory.accountLaneMemoryPool();
+        };
+    }
+
+    /**
+     * @return the timer wheel which expires memory pool transactions, null if transactions never expire.
+     */
+    private TimerWheel<TendermintTransaction> buildTxExpiry() {
+        long ttl = txTimeToLive();
+        if (ttl > 0L) {
+            return new TimerWheel<>(TX_EXPIRY_WHEEL_SIZE, Math.max(1L, ttl / TX_EXPIRY_WHEEL_SIZE), 0L);
+        } else
+            return null;
     }
 
     private String generateAddress() {
@@ -139,23 +274,61 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         return encodeBase64String(concatIdentifier.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Rebuild the PoS state from the decision. If PoS checkpoints are enabled, the nearest checkpoint which matches the decision is restored and only
+     * the blocks after it are applied.
+     */
     public void reComputePoSState() {
+        final long currentHeight = decision.currentHeight();
+        long from = 0L;
         posState.clear();
-        for (int i = 0; i <= decision.currentHeight(); i++) {
+        stakeLedger.clear();
+        if (posCheckpointInterval() > 0L) {
+            ProofOfStakeCheckpoints.Checkpoint checkpoint =
+                    ProofOfStakeCheckpoints.instance().nearest(currentHeight, h -> decision.getBlock(h).sha256Base64Hash(), posCheckpointDirectory());
+            if (checkpoint != null) {
+                posState.restore(checkpoint.snapshot());
+                stakeLedger.restore(checkpoint.ledger());
+                from = checkpoint.height() + 1L;
+            }
+        }
+
+        for (long i = from; i <= currentHeight; i++) {
             updatePoSState(decision.getBlock(i));
         }
+
+        if (posCheckpointInterval() > 0L && from <= currentHeight)
+            saveCheckpoint(decision.getBlock(currentHeight));
     }
 
+    /**
+     * Apply the stake changes of the block. Locked stake can only be unlocked minTime heights after the block which locks it, an unlock only removes
+     * the part of its amount which is unlockable at the block height.
+     *
+     * @param block the block
+     */
     private void updatePoSState(Block<TendermintTransaction> block) {
+        stakeLedger.expireUntil(block.getHeight());
         for (TendermintTransaction tx : block.getTransactions()) {
             if (tx instanceof TendermintLockStakeTx txLockStake) {
                 posState.addWeight(txLockStake.getSender(), txLockStake.getAmount());
+                stakeLedger.lock(txLockStake.getSender(), txLockStake.getAmount(), block.getHeight() + txLockStake.getMinTime());
             }
 
             if (tx instanceof TendermintUnlockStakeTx txUnlockStake) {
-                posState.removeWeight(txUnlockStake.getSender(), txUnlockStake.getAmount());
+                long unlocked = stakeLedger.unlock(txUnlockStake.getSender(), txUnlockStake.getAmount());
+                posState.removeWeight(txUnlockStake.getSender(), unlocked);
             }
         }
+
+        long interval = posCheckpointInterval();
+        if (interval > 0L && block.getHeight() > 0L && block.getHeight() % interval == 0L)
+            saveCheckpoint(block);
+    }
+
+    private void saveCheckpoint(Block<TendermintTransaction> block) {
+        ProofOfStakeCheckpoints.instance().save(block.getHeight(), block.sha256Base64Hash(), posState.snapshot(), stakeLedger,
+                                                posCheckpointDirectory());
     }
 
     // Methods.
@@ -178,11 +351,11 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
 
             round = r;
             step = Step.PROPOSE;
-            Block<TendermintTransaction> proposal;
-            if (isProposer(getAgent().getIdentifier(), height(), round)) {
+            IdentifiedBlock proposal;
+            if (isProposer(getAgent().getIdentifier(), round)) {
                 proposal = Objects.requireNonNullElseGet(validValue, this::nextValue);
                 log.info("{} proposer for Stage({}, {}), proposal hash -> {}", getAgent().getIdentifier(), height(), round,
-                         proposal.sha256Base64Hash());
+                         proposal.getId());
                 broadcastProposal(height(), round, proposal, validRound);
             } else {
                 scheduleTimeoutPropose(height(), round);
@@ -195,45 +368,41 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         return decision.currentHeight() + 1;
     }
 
-    private boolean isProposer(SimpleAgent.AgentIdentifier agent, long h, long r) {
-        return proposer(h, r).equals(agent);
+    private boolean isProposer(SimpleAgent.AgentIdentifier agent, long r) {
+        return agent.equals(proposer(r));
     }
 
-    private SimpleAgent.AgentIdentifier proposer(long h, long r) {
-        List<SimpleAgent.AgentIdentifier> members = Lists.newArrayList(groupMembership());
-        int index = (int) ((((members.size() + h) % members.size()) + r) % members.size());
-        return members.get(index);
+    /**
+     * @param r the round
+     *
+     * @return the proposer of the round r of the current height, the proposer schedule is only computed for the current height.
+     */
+    private SimpleAgent.AgentIdentifier proposer(long r) {
+        return committeeMembers.get(proposerSchedule.proposer(r));
     }
 
-    private Block<TendermintTransaction> nextValue() {
+    private IdentifiedBlock nextValue() {
         final long h = height();
         final long timestamp = PalmBeachSimulation.scheduler().getCurrentTime();
         final String previous = decision.getBlock(height() - 1).sha256Base64Hash();
+        expireTx();
         final Set<TendermintTransaction> tx = selectTx();
 
-        return new Block<>(h, timestamp, previous, tx);
+        return new IdentifiedBlock(new Block<>(h, timestamp, previous, tx));
     }
 
     private Set<TendermintTransaction> selectTx() {
-        final Set<TendermintTransaction> txSet = Sets.newHashSet();
-
-        int count = 0;
-        for (int i = 0; i < memoryPool.size() && count < maxBlockSize(); i++) {
-            TendermintTransaction tx = pollTx();
-            if (isValidTx(tx)) {
-                polledTx.add(tx);
-                txSet.add(tx);
-                count++;
-            }
-        }
-
-        return txSet;
+        return memoryPool.reserve(maxBlockSize(), this::isValidTx);
     }
 
-    private TendermintTransaction pollTx() {
-        TendermintTransaction tx = memoryPool.poll();
-        setMemoryPool.remove(tx);
-        return tx;
+    private void expireTx() {
+        if (txExpiry != null) {
+            txExpiry.advance(PalmBeachSimulation.scheduler().getCurrentTime(), tx -> {
+                if (memoryPool.remove(tx)) {
+                    expiredTxCount++;
+                }
+            });
+        }
     }
 
     private boolean isValidTx(TendermintTransaction tx) {
@@ -258,40 +427,21 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         log.info("{} pass to next height {}", getAgent().getIdentifier(), height());
         mapHeightRound.put(height(), round);
 
-        clearUselessProposal();
-        clearUselessPrevote();
-        clearUselessPrecommit();
+        clearUselessConsensusState();
 
-        polledTx.clear();
         resetTendermint();
         computeCurrentCommittee();
         startRound(0L);
     }
 
-    private void clearUselessProposal() {
-        proposalReceived.removeIf(proposal -> proposal.h <= height());
-    }
-
-    private void clearUselessPrevote() {
-        prevoteReceived.entrySet().removeIf(entry -> {
-            Stage stage = entry.getKey();
-            return stage.h() <= height();
-        });
-        prevoteCounter.entrySet().removeIf(entry -> {
-            Prevote prevote = entry.getKey();
-            return prevote.h() <= height();
-        });
-    }
-
-    private void clearUselessPrecommit() {
-        precommitReceived.entrySet().removeIf(entry -> {
-            Stage stage = entry.getKey();
-            return stage.h() <= height();
-        });
-        precommitCounter.entrySet().removeIf(entry -> {
-            Precommit prevote = entry.getKey();
-            return prevote.h() <= height();
-        });
+    private void clearUselessConsensusState() {
+        consensusState.clearUntil(height());
+        voteInbox.clear();
+        pendingCompactProposals.clear();
+        pendingPartSetProposals.clear();
+        partSets.clear();
+        earlyParts.clear();
+        ownProposal = null;
     }
 
     private void resetTendermint() {
@@ -302,22 +452,50 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         initTimeout();
     }
 
+    /**
+     * Select a new committee at the first height of each epoch. During an epoch, the committee and the membership stay the same and the proposer
+     * schedule keeps the weights of the beginning of the epoch, therefore stake changes are only taken into account at epoch boundaries.
+     */
     private void computeCurrentCommittee() {
-        long seed = height();
-        RandomGenerator rGenerator = new Random(seed);
-        CommitteeSelector cSelector = CommitteeSelectorFactory.basicCommitteeSelector();
-        currentCommittee = cSelector.selectCommittee(posState, committeeSize(), rGenerator);
-        log.info("{} Committee for height {} => {}", getAgent().getIdentifier(), height(), currentCommittee);
-        updateGroupMembership();
+        previousCommitteeIndices = committeeIndices;
+        long epoch = height() / epochLength();
+        if (epoch != currentEpoch) {
+            currentEpoch = epoch;
+            currentCommittee = CommitteeCache.instance().committee(height(), posState, committeeSize(), committeeSelector);
+            log.info("{} Committee for height {} (epoch {}) => {}", getAgent().getIdentifier(), height(), epoch, currentCommittee);
+            updateProposerSchedule();
+            updateGroupMembership();
+        } else
+            proposerSchedule = proposerSchedule.next();
+    }
+
+    private void updateProposerSchedule() {
+        if (proposerSchedule == null) {
+            proposerSchedule = new ProposerSchedule(posState, currentCommittee);
+        } else {
+            proposerSchedule = proposerSchedule.next(posState, currentCommittee);
+        }
     }
 
+    /**
+     * Resolve the agents of the committee members and give to each member a dense index, members being sorted by address. The indices of the previous
+     * height are kept to relay its votes.
+     */
     private void updateGroupMembership() {
         groupMembership.clear();
-        for (SimpleAgent agent : PalmBeachSimulation.allAgents()) {
-            TendermintValidator validator;
-            if ((validator = agent.getProtocol(TendermintValidator.class)) != null && currentCommittee.contains(validator.getAddress())) {
-                groupMembership.add(agent.getIdentifier());
-            }
+        committeeMembers.clear();
+        committeeIndices = Maps.newHashMap();
+        committeeAgents.clear();
+        voteTargets = null;
+        for (String member : currentCommittee.stream().sorted().toList()) {
+            SimpleAgent.AgentIdentifier agent = ValidatorRegistry.instance().agentOf(member);
+            if (agent != null) {
+                groupMembership.add(agent);
+                committeeMembers.put(member, agent);
+                committeeIndices.put(agent, committeeIndices.size());
+                committeeAgents.add(agent);
+            } else
+                log.error("{} no validator registered for the committee member {}", getAgent().getIdentifier(), member);
         }
         log.info("{} GroupMemberShip for height {} => {}", getAgent().getIdentifier(), height(), groupMembership);
     }
@@ -335,15 +513,20 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
     @Override
     public void processEvent(Event<?> event) {
         if (getAgent().isStarted()) {
-            TimeoutEvent timeoutEvent = (TimeoutEvent) event;
-            timeoutEvent.onTimeout();
+            if (event instanceof TimeoutEvent timeoutEvent) {
+                timeoutEvent.onTimeout();
+            } else if (event instanceof FlushVoteInboxEvent) {
+                flushVoteInbox();
+            } else if (event instanceof FlushVoteBundleEvent) {
+                flushVoteBundle();
+            }
         } else
             throw new AgentNotStartedException(getAgent().getIdentifier() + " is not started -> cannot processEvent " + event);
     }
 
     @Override
     public boolean canProcessEvent(Event<?> event) {
-        return event instanceof TimeoutEvent;
+        return event instanceof TimeoutEvent || event instanceof FlushVoteInboxEvent || event instanceof FlushVoteBundleEvent;
     }
 
     @Override
@@ -352,9 +535,23 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
             if (contentDelivered instanceof ProposalMessage proMsg) {
                 treatsProposalMessage(proMsg);
             } else if (contentDelivered instanceof PrevoteMessage preMsg) {
-                treatsPrevoteMessage(preMsg);
+                if (treatsPrevoteMessage(preMsg) || preMsg.getHeight() == height() - 1)
+                    aggregateVote(preMsg);
             } else if (contentDelivered instanceof PrecommitMessage preComMsg) {
-                treatsPrecommitMessage(preComMsg);
+                if (treatsPrecommitMessage(preComMsg) || preComMsg.getHeight() == height() - 1)
+                    aggregateVote(preComMsg);
+            } else if (contentDelivered instanceof VoteBundleMessage bundleMsg) {
+                treatsVoteBundleMessage(bundleMsg);
+            } else if (contentDelivered instanceof CompactProposalMessage compactMsg) {
+                treatsCompactProposalMessage(compactMsg);
+            } else if (contentDelivered instanceof TxRequestMessage txRequestMsg) {
+                treatsTxRequestMessage(txRequestMsg);
+            } else if (contentDelivered instanceof TxResponseMessage txResponseMsg) {
+                treatsTxResponseMessage(txResponseMsg);
+            } else if (contentDelivered instanceof PartSetProposalMessage partSetMsg) {
+                treatsPartSetProposalMessage(partSetMsg);
+            } else if (contentDelivered instanceof BlockPartMessage partMsg) {
+                treatsBlockPartMessage(partMsg);
             } else if (contentDelivered instanceof TendermintClientMessage<?> clientMessage) {
                 treatClientTendermintMessage(clientMessage);
             } else {
@@ -366,52 +563,368 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
     }
 
     private void treatsProposalMessage(ProposalMessage proMsg) {
-        if (isProposer(proMsg.getSender(), height(), round) && !proposalReceived.contains(proMsg.getProposal())) {
-            proposalReceived.add(proMsg.getProposal());
+        if (isProposer(proMsg.getSender(), round) && consensusState.addProposal(proMsg.getProposal())) {
             executeRules(proMsg);
         }
     }
 
-    private void treatsPrevoteMessage(PrevoteMessage preMsg) {
-        Set<SimpleAgent.AgentIdentifier> agentSendPrevote = prevoteReceived.computeIfAbsent(preMsg.getStage(), k -> Sets.newHashSet());
-        if (agentSendPrevote.add(preMsg.getSender())) {
-            Prevote prevote = preMsg.getPrevote();
-            long counter = prevoteCounter.computeIfAbsent(prevote, k -> 0L);
-            prevoteCounter.put(prevote, counter + 1);
-            executeRules(preMsg);
+    /**
+     * Rebuild the block of the compact proposal from the memory pool. If transactions are missing, they are requested to the proposer and the
+     * proposal waits for them. The rebuilt proposal is then treated as a {@link ProposalMessage}. The sender is checked against the proposer of the
+     * message round, the compact proposal may arrive just before this validator passes to that round.
+     *
+     * @param compactMsg the compact proposal
+     */
+    private void treatsCompactProposalMessage(CompactProposalMessage compactMsg) {
+        if (compactMsg.getHeight() != height() || !isProposer(compactMsg.getSender(), compactMsg.getRound())
+                || pendingCompactProposals.containsKey(compactMsg.getStage()))
+            return;
+
+        CompactBlock compactBlock = compactMsg.getValue();
+        if (compactMsg.getSender().equals(getAgent().getIdentifier()) && ownProposal != null && ownProposal.getId().equals(compactBlock.id())) {
+            treatsProposalMessage(new ProposalMessage(compactMsg.getSender(), compactMsg.getHeight(), compactMsg.getRound(), ownProposal,
+                                                      compactMsg.getValidRound()));
+            return;
+        }
+
+        CompactBlockBuilder builder = new CompactBlockBuilder(compactBlock, memoryPool::find);
+        if (builder.isComplete()) {
+            compactProposalRebuilt(compactMsg, builder);
+        } else {
+            pendingCompactProposals.put(compactMsg.getStage(), new PendingCompactProposal(compactMsg, builder, false));
+            requestMissingTxs(compactMsg, builder);
         }
     }
 
-    private void treatsPrecommitMessage(PrecommitMessage preComMsg) {
-        Set<SimpleAgent.AgentIdentifier> agentSendPrecommit = precommitReceived.computeIfAbsent(preComMsg.getStage(), k -> Sets.newHashSet());
-        if (agentSendPrecommit.add(preComMsg.getSender())) {
-            Precommit precommit = preComMsg.getPrecommit();
-            long counter = precommitCounter.computeIfAbsent(precommit, k -> 0L);
-            precommitCounter.put(precommit, counter + 1);
-            executeRules(preComMsg);
+    private void requestMissingTxs(CompactProposalMessage compactMsg, CompactBlockBuilder builder) {
+        log.debug("{} request {} missing transactions of the compact proposal of {}", getAgent().getIdentifier(), builder.missingTxHashes().size(),
+                  compactMsg.getStage());
+        getBroadcaster().broadcastMessage(new TxRequestMessage(getAgent().getIdentifier(), compactMsg.getHeight(), compactMsg.getRound(),
+                                                               List.copyOf(builder.missingTxHashes())), Set.of(compactMsg.getSender()),
+                                          getNetwork());
+    }
+
+    private void compactProposalRebuilt(CompactProposalMessage compactMsg, CompactBlockBuilder builder) {
+        IdentifiedBlock block = builder.build();
+        if (block != null) {
+            treatsProposalMessage(new ProposalMessage(compactMsg.getSender(), compactMsg.getHeight(), compactMsg.getRound(), block,
+                                                      compactMsg.getValidRound()));
+        } else
+            log.warn("{} rebuilt compact proposal of {} does not match its id", getAgent().getIdentifier(), compactMsg.getStage());
+    }
+
+    /**
+     * Answer with the requested transactions found in the memory pool or in the proposal of the stage.
+     *
+     * @param txRequestMsg the request of missing transactions
+     */
+    private void treatsTxRequestMessage(TxRequestMessage txRequestMsg) {
+        Map<String, TendermintTransaction> proposalTxs = Maps.newHashMap();
+        if (ownProposal != null && ownProposal.getHeight() == txRequestMsg.getHeight()) {
+            for (TendermintTransaction tx : ownProposal.getBlock().getTransactions()) {
+                proposalTxs.put(tx.sha256Base64Hash(), tx);
+            }
+        }
+
+        final List<TendermintTransaction> txs = Lists.newArrayList();
+        for (String txHash : txRequestMsg.getValue()) {
+            TendermintTransaction tx = memoryPool.find(txHash);
+            if (tx == null)
+                tx = proposalTxs.get(txHash);
+            if (tx != null)
+                txs.add(tx);
+        }
+        getBroadcaster().broadcastMessage(new TxResponseMessage(getAgent().getIdentifier(), txRequestMsg.getHeight(), txRequestMsg.getRound(), txs),
+                                          Set.of(txRequestMsg.getSender()), getNetwork());
+    }
+
+    /**
+     * Complete the pending compact proposal of the stage with the transactions received from its proposer. They are also added to the memory pool,
+     * with an expiry as transactions received from clients, so that they are known if the block is proposed again. Transactions still missing are
+     * requested once more, then the pending proposal is dropped so that the stage does not stay blocked.
+     *
+     * @param txResponseMsg the missing transactions
+     */
+    private void treatsTxResponseMessage(TxResponseMessage txResponseMsg) {
+        PendingCompactProposal pending = pendingCompactProposals.get(txResponseMsg.getStage());
+        if (pending == null || !txResponseMsg.getSender().equals(pending.compactMsg().getSender()))
+            return;
+
+        expireTx();
+        for (TendermintTransaction tx : txResponseMsg.getValue()) {
+            if (pending.builder().add(tx))
+                addToMemoryPool(tx);
+        }
+
+        if (pending.builder().isComplete()) {
+            compactProposalRebuilt(pending.compactMsg(), pending.builder());
+        } else if (!pending.retried()) {
+            pendingCompactProposals.put(txResponseMsg.getStage(), new PendingCompactProposal(pending.compactMsg(), pending.builder(), true));
+            requestMissingTxs(pending.compactMsg(), pending.builder());
+        } else {
+            pendingCompactProposals.remove(txResponseMsg.getStage());
+            log.warn("{} proposer of {} did not send {} transactions", getAgent().getIdentifier(), txResponseMsg.getStage(),
+                     pending.builder().missingTxHashes().size());
         }
     }
 
+    /**
+     * The proposal waits for its parts, it is treated as a {@link ProposalMessage} once all parts have arrived. Parts received before the header are
+     * checked against it now. The sender is checked against the proposer of the message round, the header may arrive just before this validator
+     * passes to that round.
+     *
+     * @param partSetMsg the proposal with the part set header
+     */
+    private void treatsPartSetProposalMessage(PartSetProposalMessage partSetMsg) {
+        if (partSetMsg.getHeight() != height() || !isProposer(partSetMsg.getSender(), partSetMsg.getRound())
+                || partSets.containsKey(partSetMsg.getStage()))
+            return;
+
+        PartSetProposal partSetProposal = partSetMsg.getValue();
+        PartSet partSet = new PartSet(partSetProposal.partSetHeader());
+        partSets.put(partSetMsg.getStage(), partSet);
+        Map<SimpleAgent.AgentIdentifier, List<BlockPartMessage>> parts = earlyParts.remove(partSetMsg.getStage());
+        if (parts != null)
+            parts.values().forEach(senderParts -> senderParts.forEach(partMsg -> addPart(partSet, partMsg)));
+
+        if (partSetMsg.getSender().equals(getAgent().getIdentifier()) && ownProposal != null && ownProposal.getId().equals(partSetProposal.id())) {
+            treatsProposalMessage(new ProposalMessage(partSetMsg.getSender(), partSetMsg.getHeight(), partSetMsg.getRound(), ownProposal,
+                                                      partSetMsg.getValidRound()));
+            return;
+        }
+
+        pendingPartSetProposals.put(partSetMsg.getStage(), partSetMsg);
+        partSetUpdated(partSetMsg.getStage());
+    }
+
+    /**
+     * Gather the part. The proposer sends each part to only one member, which relays it to the whole committee, so that parts are gossiped in
+     * parallel and the proposer does not send the whole block to each member. A part is kept only if its merkle proof matches the root of the part
+     * set header, parts which arrive before the header wait for it.
+     *
+     * @param partMsg the block part
+     */
+    private void treatsBlockPartMessage(BlockPartMessage partMsg) {
+        if (partMsg.getHeight() != height())
+            return;
+
+        PartSet partSet = partSets.get(partMsg.getStage());
+        if (partSet != null) {
+            if (addPart(partSet, partMsg))
+                partSetUpdated(partMsg.getStage());
+        } else
+            bufferEarlyPart(partMsg);
+    }
+
+    /**
+     * Keep the part until the header of its stage arrives. Only parts sent by committee members for stages at most one round ahead are kept, and at
+     * most the number of parts of a full block per sender, so that the buffer of a height stays bounded.
+     *
+     * @param partMsg the block part received before its header
+     */
+    private void bufferEarlyPart(BlockPartMessage partMsg) {
+        if (!committeeIndices.containsKey(partMsg.getSender()) || partMsg.getRound() > round + 1)
+            return;
+
+        List<BlockPartMessage> senderParts = earlyParts.computeIfAbsent(partMsg.getStage(), stage -> Maps.newLinkedHashMap())
+                .computeIfAbsent(partMsg.getSender(), sender -> Lists.newArrayList());
+        if (senderParts.size() < maxBlockParts)
+            senderParts.add(partMsg);
+    }
+
+    /**
+     * Add the part to the part set and relay it to the committee if it comes from the proposer.
+     *
+     * @param partSet the part set of the part stage
+     * @param partMsg the block part
+     *
+     * @return true if the part has been added, else false.
+     */
+    private boolean addPart(PartSet partSet, BlockPartMessage partMsg) {
+        if (!partSet.add(partMsg.getValue()))
+            return false;
+
+        if (isProposer(partMsg.getSender(), partMsg.getRound()))
+            getBroadcaster().broadcastMessage(new BlockPartMessage(getAgent().getIdentifier(), partMsg.getHeight(), partMsg.getRound(),
+                                                                   partMsg.getValue()), groupMembership(), getNetwork());
+        return true;
+    }
+
+    /**
+     * Treat the proposal of the stage if it has been received with all its parts. Parts are kept to ignore the ones which arrive later.
+     *
+     * @param stage the stage of the proposal
+     */
+    private void partSetUpdated(Stage stage) {
+        PartSetProposalMessage partSetMsg = pendingPartSetProposals.get(stage);
+        PartSet partSet = partSets.get(stage);
+        if (partSetMsg == null || partSet == null || !partSet.isComplete())
+            return;
+
+        pendingPartSetProposals.remove(stage);
+        IdentifiedBlock block = partSetMsg.getValue().rebuild(partSet);
+        if (block != null) {
+            treatsProposalMessage(new ProposalMessage(partSetMsg.getSender(), partSetMsg.getHeight(), partSetMsg.getRound(), block,
+                                                      partSetMsg.getValidRound()));
+        } else
+            log.warn("{} parts of the proposal of {} do not match the part set header", getAgent().getIdentifier(), stage);
+    }
+
+    /**
+     * @param preMsg the prevote, received alone or in a vote bundle
+     *
+     * @return true if the prevote has been counted, else false.
+     */
+    private boolean treatsPrevoteMessage(PrevoteMessage preMsg) {
+        int sender = committeeIndex(preMsg);
+        if (sender >= 0 && consensusState.addPrevote(preMsg.getHeight(), preMsg.getRound(), sender, preMsg.getValue())) {
+            voteCounted(preMsg);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param preComMsg the precommit, received alone or in a vote bundle
+     *
+     * @return true if the precommit has been counted, else false.
+     */
+    private boolean treatsPrecommitMessage(PrecommitMessage preComMsg) {
+        int sender = committeeIndex(preComMsg);
+        if (sender >= 0 && consensusState.addPrecommit(preComMsg.getHeight(), preComMsg.getRound(), sender, preComMsg.getValue())) {
+            voteCounted(preComMsg);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Count each vote of the bundle relayed by an aggregator.
+     *
+     * @param bundleMsg the vote bundle
+     */
+    private void treatsVoteBundleMessage(VoteBundleMessage bundleMsg) {
+        final List<TendermintValidatorMessage<ValueId>> votes = bundleMsg.getVotes();
+        for (int i = 0; i < votes.size(); i++) {
+            TendermintValidatorMessage<ValueId> vote = votes.get(i);
+            if (vote instanceof PrevoteMessage preMsg)
+                treatsPrevoteMessage(preMsg);
+            else if (vote instanceof PrecommitMessage preComMsg)
+                treatsPrecommitMessage(preComMsg);
+        }
+    }
+
+    /**
+     * If votes are aggregated and this validator is an aggregator of the vote stage, put the vote in the next bundle to relay. Votes of the previous
+     * height are still relayed: this validator may have passed to the next height before the other members received them.
+     *
+     * @param vote the vote received alone, counted or of the previous height
+     */
+    private void aggregateVote(TendermintValidatorMessage<ValueId> vote) {
+        if (bundleDelay > 0L && isVoteAggregator(vote) && voteAggregator.aggregate(vote))
+            scheduleEvent(getAgent(), new FlushVoteBundleEvent(), bundleDelay);
+    }
+
+    /**
+     * @param vote the vote of the current or of the previous height
+     *
+     * @return true if the vote sender and this validator are members of the committee of the vote height, and this validator is an aggregator of
+     * the vote round, else false.
+     */
+    private boolean isVoteAggregator(TendermintValidatorMessage<ValueId> vote) {
+        Map<SimpleAgent.AgentIdentifier, Integer> indices = vote.getHeight() == height() ? committeeIndices : previousCommitteeIndices;
+        Integer index = indices.get(getAgent().getIdentifier());
+        return index != null && indices.containsKey(vote.getSender()) && voteAggregator.isAggregator(index, vote.getRound(), indices.size());
+    }
+
+    /**
+     * Evaluate the rules for a vote which has just been counted. If votes are batched, the vote is put in the inbox and rules are evaluated when the
+     * inbox is flushed, voteBatchDelay after the first vote of the batch. Rule evaluations, and therefore the reactions to the votes, are then
+     * delayed by up to voteBatchDelay compared to the timeouts, which changes the protocol timing.
+     *
+     * @param vote the counted vote
+     */
+    private void voteCounted(TendermintValidatorMessage<ValueId> vote) {
+        if (batchDelay > 0L) {
+            if (voteInbox.add(vote))
+                scheduleEvent(getAgent(), new FlushVoteInboxEvent(), batchDelay);
+        } else
+            executeRules(vote);
+    }
+
+    /**
+     * Evaluate the rules once per vote type, stage and value id of the batch. All votes have already been counted, and rules only depend on the
+     * type, the stage and the value id of the vote, therefore one vote of each group is enough. Votes counted during the flush go to a new batch.
+     */
+    private void flushVoteInbox() {
+        int batchSize = voteInbox.size();
+        final List<TendermintValidatorMessage<ValueId>> toEvaluate =
+                voteInbox.drain(vote -> new VoteGroup(vote.getClass(), vote.getHeight(), vote.getRound(), vote.getValue()));
+        for (TendermintValidatorMessage<ValueId> vote : toEvaluate) {
+            executeRules(vote);
+        }
+        if (log.isDebugEnabled())
+            log.debug("{} flush {} votes, {} rule evaluations", getAgent().getIdentifier(), batchSize, toEvaluate.size());
+    }
+
+    /**
+     * Votes are only useful for the current height, every rule checks it and passing to the next height drops the votes of the current height.
+     *
+     * @param tMsg the vote message
+     *
+     * @return the index of the vote sender in the current committee, -1 if the vote is not for the current height or if the sender is not a member
+     * of the current committee.
+     */
+    private int committeeIndex(TendermintValidatorMessage<?> tMsg) {
+        if (tMsg.getHeight() != height())
+            return -1;
+
+        Integer index = committeeIndices.get(tMsg.getSender());
+        if (index == null) {
+            log.debug("{} ignore vote of {} which is not a committee member", getAgent().getIdentifier(), tMsg.getSender());
+            return -1;
+        }
+        return index;
+    }
+
     private void treatClientTendermintMessage(TendermintClientMessage<?> clientMessage) {
         if (clientMessage instanceof TransactionMessage txMessage) {
             TendermintTransaction tx = txMessage.getContent();
-            if (!setMemoryPool.contains(tx)) {
-                memoryPool.offer(tx);
-                setMemoryPool.add(tx);
+            expireTx();
+            if (addToMemoryPool(tx)) {
                 getBroadcaster().broadcastMessage(txMessage, groupMembership(), getNetwork());
             }
         }
     }
 
+    /**
+     * Add the transaction to the memory pool and schedule its expiry.
+     *
+     * @param tx the transaction
+     *
+     * @return true if the transaction has been added, else false.
+     */
+    private boolean addToMemoryPool(TendermintTransaction tx) {
+        if (memoryPool.add(tx)) {
+            if (txExpiry != null) {
+                txExpiry.schedule(tx, PalmBeachSimulation.scheduler().getCurrentTime() + txTimeToLive());
+            }
+            return true;
+        }
+
+        return false;
+    }
+
     private void executeRules(TendermintValidatorMessage<?> tMsg) {
-        for (Rule rule : rules) {
+        final List<Rule> messageRules = rules.getOrDefault(tMsg.getClass(), Collections.emptyList());
+        for (int i = 0; i < messageRules.size(); i++) {
+            Rule rule = messageRules.get(i);
             if (!rule.isOnlyOneTimeRule()) {
                 rule.execute(tMsg);
             } else {
                 boolean evaluation = rule.evaluateCondition(tMsg);
                 if (evaluation) {
-                    Set<Stage> stages = ruleAlreadyExecuted.computeIfAbsent(rule, r -> Sets.newHashSet());
-                    if (stages.add(new Stage(height(), round))) {
+                    if (consensusState.markExecuted(rule.index, height(), round)) {
                         rule.execute(tMsg);
                     }
                 }
@@ -419,16 +932,80 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         }
     }
 
-    private void broadcastProposal(long h, long r, Block<TendermintTransaction> proposal, long vR) {
-        getBroadcaster().broadcastMessage(new ProposalMessage(getAgent().getIdentifier(), h, r, proposal, vR), groupMembership(), getNetwork());
+    private void broadcastProposal(long h, long r, IdentifiedBlock proposal, long vR) {
+        ProposalType proposalType = proposalType();
+        if (proposalType == ProposalType.COMPACT) {
+            ownProposal = proposal;
+            getBroadcaster().broadcastMessage(new CompactProposalMessage(getAgent().getIdentifier(), h, r, CompactBlock.of(proposal), vR),
+                                              groupMembership(), getNetwork());
+        } else if (proposalType == ProposalType.PARTS) {
+            ownProposal = proposal;
+            PartSet partSet = PartSet.of(proposal, blockPartSize());
+            getBroadcaster().broadcastMessage(new PartSetProposalMessage(getAgent().getIdentifier(), h, r,
+                                                                         PartSetProposal.of(proposal, partSet.header()), vR),
+                                              groupMembership(), getNetwork());
+            broadcastBlockParts(h, r, partSet);
+        } else
+            getBroadcaster().broadcastMessage(new ProposalMessage(getAgent().getIdentifier(), h, r, proposal, vR), groupMembership(), getNetwork());
+    }
+
+    /**
+     * Send each part to one committee member, in round-robin over the members sorted by address, the member relays it to the whole committee.
+     */
+    private void broadcastBlockParts(long h, long r, PartSet partSet) {
+        for (int i = 0; i < partSet.total(); i++) {
+            getBroadcaster().broadcastMessage(new BlockPartMessage(getAgent().getIdentifier(), h, r, partSet.part(i)),
+                                              Set.of(committeeAgents.get(i % committeeAgents.size())), getNetwork());
+        }
     }
 
-    private void broadcastPrevote(long h, long r, String value) {
-        getBroadcaster().broadcastMessage(new PrevoteMessage(getAgent().getIdentifier(), h, r, value), groupMembership(), getNetwork());
+    private void broadcastPrevote(long h, long r, ValueId value) {
+        broadcastVote(new PrevoteMessage(getAgent().getIdentifier(), h, r, value));
+    }
+
+    private void broadcastPrecommit(long h, long r, ValueId value) {
+        broadcastVote(new PrecommitMessage(getAgent().getIdentifier(), h, r, value));
+    }
+
+    /**
+     * If votes are aggregated, the vote is only sent to the aggregators of the round and to this validator, the aggregators relay it to all members.
+     *
+     * @param vote the vote of this validator
+     */
+    private void broadcastVote(TendermintValidatorMessage<ValueId> vote) {
+        if (bundleDelay > 0L && !committeeAgents.isEmpty()) {
+            getBroadcaster().broadcastMessage(vote, voteTargets(vote.getRound()), getNetwork());
+        } else
+            getBroadcaster().broadcastMessage(vote, groupMembership(), getNetwork());
+    }
+
+    /**
+     * The targets are computed once per round and committee.
+     *
+     * @param r the round
+     *
+     * @return this validator and the aggregators of the round.
+     */
+    private Set<SimpleAgent.AgentIdentifier> voteTargets(long r) {
+        if (voteTargets == null || voteTargetsRound != r) {
+            voteTargets = Sets.newHashSet(getAgent().getIdentifier());
+            for (int aggregator : voteAggregator.aggregators(r, committeeAgents.size())) {
+                voteTargets.add(committeeAgents.get(aggregator));
+            }
+            voteTargetsRound = r;
+        }
+        return voteTargets;
     }
 
-    private void broadcastPrecommit(long h, long r, String value) {
-        getBroadcaster().broadcastMessage(new PrecommitMessage(getAgent().getIdentifier(), h, r, value), groupMembership(), getNetwork());
+    /**
+     * Relay to all members one bundle with the votes aggregated since the last flush. Votes of the previous height are kept, they may be the votes
+     * which decided it and that the other members still wait for.
+     */
+    private void flushVoteBundle() {
+        final List<TendermintValidatorMessage<ValueId>> votes = voteAggregator.drain(height());
+        if (!votes.isEmpty())
+            getBroadcaster().broadcastMessage(new VoteBundleMessage(getAgent().getIdentifier(), height(), round, votes), groupMembership(),
+                                              getNetwork());
     }
 
     @Override
@@ -437,7 +1014,7 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
                 contentDelivered instanceof NodeDirectoryMessage;
     }
 
-    private boolean isValid(Block<TendermintTransaction> block, long h) {
+    private boolean isValid(IdentifiedBlock block, long h) {
         return block != null && block.getHeight() == h;
     }
 
@@ -490,6 +1067,144 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         getContext().setInt(COMMITTEE_SIZE, committeeSize, new Validate.MinIntValidator(4, "CommitteeSize can be less then 4"));
     }
 
+    public long epochLength() {
+        return getContext().getLong(EPOCH_LENGTH, DEFAULT_EPOCH_LENGTH,
+                                    new Validate.MinLongValidator(1L, "EpochLength must be greater or equal to 1"));
+    }
+
+    @SuppressWarnings("unused")
+    public void epochLength(long epochLength) {
+        getContext().setLong(EPOCH_LENGTH, epochLength, new Validate.MinLongValidator(1L, "EpochLength must be greater or equal to 1"));
+    }
+
+    public long voteBatchDelay() {
+        return getContext().getLong(VOTE_BATCH_DELAY, DEFAULT_VOTE_BATCH_DELAY,
+                                    new Validate.MinLongValidator(0L, "VoteBatchDelay must be greater or equal to 0"));
+    }
+
+    @SuppressWarnings("unused")
+    public void voteBatchDelay(long voteBatchDelay) {
+        getContext().setLong(VOTE_BATCH_DELAY, voteBatchDelay, new Validate.MinLongValidator(0L, "VoteBatchDelay must be greater or equal to 0"));
+    }
+
+    public int voteAggregatorCount() {
+        return getContext().getInt(VOTE_AGGREGATOR_COUNT, DEFAULT_VOTE_AGGREGATOR_COUNT,
+                                   new Validate.MinIntValidator(1, "VoteAggregatorCount must be greater or equal to 1"));
+    }
+
+    @SuppressWarnings("unused")
+    public void voteAggregatorCount(int voteAggregatorCount) {
+        getContext().setInt(VOTE_AGGREGATOR_COUNT, voteAggregatorCount,
+                            new Validate.MinIntValidator(1, "VoteAggregatorCount must be greater or equal to 1"));
+    }
+
+    public long voteBundleDelay() {
+        return getContext().getLong(VOTE_BUNDLE_DELAY, DEFAULT_VOTE_BUNDLE_DELAY,
+                                    new Validate.MinLongValidator(0L, "VoteBundleDelay must be greater or equal to 0"));
+    }
+
+    @SuppressWarnings("unused")
+    public void voteBundleDelay(long voteBundleDelay) {
+        getContext().setLong(VOTE_BUNDLE_DELAY, voteBundleDelay,
+                             new Validate.MinLongValidator(0L, "VoteBundleDelay must be greater or equal to 0"));
+    }
+
+    public long posCheckpointInterval() {
+        return getContext().getLong(POS_CHECKPOINT_INTERVAL, DEFAULT_POS_CHECKPOINT_INTERVAL,
+                                    new Validate.MinLongValidator(0L, "PosCheckpointInterval must be greater or equal to 0"));
+    }
+
+    @SuppressWarnings("unused")
+    public void posCheckpointInterval(long posCheckpointInterval) {
+        getContext().setLong(POS_CHECKPOINT_INTERVAL, posCheckpointInterval, new Validate.MinLongValidator(0L, "PosCheckpointInterval must be " +
+                "greater or equal to 0"));
+    }
+
+    /**
+     * @return the directory where PoS checkpoints are written, null if checkpoints are only kept in memory.
+     */
+    public Path posCheckpointDirectory() {
+        String directory = getContext().getString(POS_CHECKPOINT_DIRECTORY);
+        return directory != null && !directory.isBlank() ? Path.of(directory) : null;
+    }
+
+    public ProposalType proposalType() {
+        String type = getContext().getString(PROPOSAL_TYPE);
+        return type != null ? ProposalType.fromConfigName(type) : DEFAULT_PROPOSAL_TYPE;
+    }
+
+    public int blockPartSize() {
+        return getContext().getInt(BLOCK_PART_SIZE, DEFAULT_BLOCK_PART_SIZE,
+                                   new Validate.MinIntValidator(1, "BlockPartSize must be greater or equal to 1"));
+    }
+
+    @SuppressWarnings("unused")
+    public void blockPartSize(int blockPartSize) {
+        getContext().setInt(BLOCK_PART_SIZE, blockPartSize, new Validate.MinIntValidator(1, "BlockPartSize must be greater or equal to 1"));
+    }
+
+    public CommitteeSelectorType committeeSelectorType() {
+        String type = getContext().getString(COMMITTEE_SELECTOR_TYPE);
+        return type != null ? CommitteeSelectorType.fromConfigName(type) : DEFAULT_COMMITTEE_SELECTOR_TYPE;
+    }
+
+    public MemoryPoolType memoryPoolType() {
+        String type = getContext().getString(MEMORY_POOL_TYPE);
+        return type != null ? MemoryPoolType.fromConfigName(type) : DEFAULT_MEMORY_POOL_TYPE;
+    }
+
+    public int memoryPoolMaxTx() {
+        return getContext().getInt(MEMORY_POOL_MAX_TX, DEFAULT_MEMORY_POOL_MAX_TX, new Validate.MinIntValidator(1, "MemoryPoolMaxTx must be greater or " +
+                "equal to 1"));
+    }
+
+    @SuppressWarnings("unused")
+    public void memoryPoolMaxTx(int memoryPoolMaxTx) {
+        getContext().setInt(MEMORY_POOL_MAX_TX, memoryPoolMaxTx, new Validate.MinIntValidator(1, "MemoryPoolMaxTx must be greater or equal to 1"));
+    }
+
+    public long memoryPoolMaxBytes() {
+        return getContext().getLong(MEMORY_POOL_MAX_BYTES, DEFAULT_MEMORY_POOL_MAX_BYTES,
+                                    new Validate.MinLongValidator(1L, "MemoryPoolMaxBytes must be greater or equal to 1"));
+    }
+
+    @SuppressWarnings("unused")
+    public void memoryPoolMaxBytes(long memoryPoolMaxBytes) {
+        getContext().setLong(MEMORY_POOL_MAX_BYTES, memoryPoolMaxBytes, new Validate.MinLongValidator(1L, "MemoryPoolMaxBytes must be greater or " +
+                "equal to 1"));
+    }
+
+    public long txTimeToLive() {
+        return getContext().getLong(TX_TIME_TO_LIVE, DEFAULT_TX_TIME_TO_LIVE, new Validate.MinLongValidator(0L, "TxTimeToLive must be greater or " +
+                "equal to 0"));
+    }
+
+    @SuppressWarnings("unused")
+    public void txTimeToLive(long txTimeToLive) {
+        getContext().setLong(TX_TIME_TO_LIVE, txTimeToLive, new Validate.MinLongValidator(0L, "TxTimeToLive must be greater or equal to 0"));
+    }
+
+    /**
+     * @param address the staker address
+     *
+     * @return the amount of stake of the address which can be unlocked in the next block.
+     */
+    public long unlockableStake(@NonNull String address) {
+        return stakeLedger.unlockableAmount(address);
+    }
+
+    public int memoryPoolSize() {
+        return memoryPool.size();
+    }
+
+    public long evictedTxCount() {
+        return memoryPool.evictedCount();
+    }
+
+    public long refusedTxCount() {
+        return memoryPool.refusedCount();
+    }
+
     // Inner classes.
 
     public enum Step {
@@ -501,6 +1216,13 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
 
     private abstract class Rule {
 
+        // Variables.
+
+        /**
+         * Dense index of the rule, used to mark one time rules as executed.
+         */
+        private final int index = ruleCount++;
+
         // Methods.
 
         public abstract boolean evaluateCondition(@NonNull TendermintValidatorMessage<?> tMsg);
@@ -516,59 +1238,35 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         public abstract boolean isOnlyOneTimeRule();
 
         public long numberPrevoteFor(long h, long r) {
-            Set<Prevote> matchingPrevote = prevoteCounter.keySet()
-                    .stream().filter(prevote -> prevote.h() == h && prevote.r() == r)
-                    .collect(Collectors.toSet());
-            long count = 0L;
-            for (Prevote prevote : matchingPrevote) {
-                long counter = prevoteCounter.get(prevote);
-                count += counter;
-            }
+            return consensusState.prevoteCount(h, r);
+        }
 
-            return count;
+        public long numberPrevoteFor(long h, long r, ValueId idV) {
+            return consensusState.prevoteCount(h, r, idV);
         }
 
         public long numberPrecommitFor(long h, long r) {
-            Set<Precommit> matchingPrecommit = precommitCounter.keySet().stream()
-                    .filter(precommit -> precommit.h() == h && precommit.r() == r)
-                    .collect(Collectors.toSet());
-
-            long count = 0L;
-            for (Precommit precommit : matchingPrecommit) {
-                long counter = precommitCounter.get(precommit);
-                count += counter;
-            }
+            return consensusState.precommitCount(h, r);
+        }
 
-            return count;
+        public long numberPrecommitFor(long h, long r, ValueId idV) {
+            return consensusState.precommitCount(h, r, idV);
         }
 
         public long numberMessageFor(long h, long r) {
-            Set<Proposal> matchingProposal = proposalReceived.stream().filter(proposal -> proposal.h() == h && proposal.r() == r)
-                    .collect(Collectors.toSet());
+            long numberMatchingProposal = consensusState.proposalCount(h, r);
             long numberMatchingPrevote = numberPrevoteFor(h, r);
             long numberMatchingPrecommit = numberPrecommitFor(h, r);
 
-            return matchingProposal.size() + numberMatchingPrevote + numberMatchingPrecommit;
+            return numberMatchingProposal + numberMatchingPrevote + numberMatchingPrecommit;
         }
 
         public Proposal findProposal(long h, long r) {
-            for (Proposal proposal : proposalReceived) {
-                if (proposal.h() == h && proposal.r() == r) {
-                    return proposal;
-                }
-            }
-
-            return null;
+            return consensusState.findProposal(h, r);
         }
 
         public Proposal findProposalByValidRound(long h, long vR) {
-            for (Proposal proposal : proposalReceived) {
-                if (proposal.h() == h && proposal.vR() == vR) {
-                    return proposal;
-                }
-            }
-
-            return null;
+            return consensusState.findProposalByValidRound(h, vR);
         }
     }
 
@@ -595,16 +1293,16 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         @Override
         protected void execution(@NonNull TendermintValidatorMessage<?> tMsg) {
             if (tMsg instanceof ProposalMessage proMsg) {
-                final Block<TendermintTransaction> v = proMsg.getValue();
+                final IdentifiedBlock v = proMsg.getIdentifiedValue();
                 log.debug("{} Execute ProposalForRound -> v {}, h {}, lockRound {}, lockedValue == v {}, isValid(v, height) {}",
-                          getAgent().getIdentifier(), v.sha256Base64Hash(), height(), lockRound, Objects.equals(lockedValue, v),
+                          getAgent().getIdentifier(), v.getId(), height(), lockRound, Objects.equals(lockedValue, v),
                           isValid(v, height()));
                 if (isValid(v, height()) && (lockRound == -1 || Objects.equals(lockedValue, v))) {
-                    log.debug("{} Prevote v {}", getAgent().getIdentifier(), v.sha256Base64Hash());
-                    broadcastPrevote(height(), round, v.sha256Base64Hash());
+                    log.debug("{} Prevote v {}", getAgent().getIdentifier(), v.getId());
+                    broadcastPrevote(height(), round, v.getId());
                 } else {
                     log.debug("{} Prevote NIL", getAgent().getIdentifier());
-                    broadcastPrevote(height(), round, null);
+                    broadcastPrevote(height(), round, ValueId.NIL);
                 }
                 step = Step.PREVOTE;
             }
@@ -656,21 +1354,20 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
             if (tMsg instanceof PrevoteMessage preMsg) {
                 final long h = preMsg.getHeight();
                 final long r = preMsg.getRound();
-                final String idV = preMsg.getValue();
-                final Prevote prevote = new Prevote(height(), round, idV);
+                final ValueId idV = preMsg.getValue();
 
                 return step == Step.PREVOTE
                         && height() == h
                         && round == r
-                        && idV == null
-                        && (prevoteCounter.containsKey(prevote) && prevoteCounter.get(prevote) >= (2 * f() + 1));
+                        && idV.isNil()
+                        && numberPrevoteFor(height(), round, idV) >= (2 * f() + 1);
             } else
                 return false;
         }
 
         @Override
         protected void execution(@NonNull TendermintValidatorMessage<?> tMsg) {
-            broadcastPrecommit(height(), round, null);
+            broadcastPrecommit(height(), round, ValueId.NIL);
             step = Step.PRECOMMIT;
         }
 
@@ -690,9 +1387,10 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
                 boolean evaluation = height() == preCoMsg.getHeight()
                         && round == preCoMsg.getRound()
                         && numberPrecommitFor(height(), round) >= (2 * f() + 1);
-                log.debug("{} evaluate PrecommitForRound, tMsg.stage = {}, evaluation = {}, nbPrecommit = {}, 2 * f + 1= {}",
-                          getAgent().getIdentifier(),
-                          tMsg.getStage(), evaluation, numberPrecommitFor(height(), round), (2 * f() + 1));
+                if (log.isDebugEnabled())
+                    log.debug("{} evaluate PrecommitForRound, tMsg.stage = {}, evaluation = {}, nbPrecommit = {}, 2 * f + 1= {}",
+                              getAgent().getIdentifier(),
+                              tMsg.getStage(), evaluation, numberPrecommitFor(height(), round), (2 * f() + 1));
                 return evaluation;
             } else
                 return false;
@@ -743,15 +1441,12 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         @Override
         public boolean evaluateCondition(@NonNull TendermintValidatorMessage<?> tMsg) {
             Proposal proposal;
-            Prevote prevote;
 
             if (tMsg instanceof ProposalMessage proMsg) {
                 proposal = proMsg.getProposal();
-                prevote = new Prevote(proposal.h(), proposal.vR(), proposal.proposal().sha256Base64Hash());
             } else if (tMsg instanceof PrevoteMessage preMsg) {
-                prevote = preMsg.getPrevote();
-                proposal = findProposalByValidRound(prevote.h(), prevote.r());
-                if (proposal == null || !proposal.proposal().sha256Base64Hash().equals(prevote.idV())) {
+                proposal = findProposalByValidRound(preMsg.getHeight(), preMsg.getRound());
+                if (proposal == null || !proposal.proposal().getId().equals(preMsg.getValue())) {
                     return false;
                 }
             } else {
@@ -764,19 +1459,19 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
                     && height() == proposal.h()
                     && round == proposal.r()
                     && (vR >= 0 && vR < round)
-                    && (prevoteCounter.containsKey(prevote) && prevoteCounter.get(prevote) >= (2 * f() + 1));
+                    && numberPrevoteFor(proposal.h(), vR, proposal.proposal().getId()) >= (2 * f() + 1);
         }
 
         @Override
         protected void execution(@NonNull TendermintValidatorMessage<?> tMsg) {
             Proposal proposal = findProposal(height(), round);
-            final Block<TendermintTransaction> v = proposal.proposal();
+            final IdentifiedBlock v = proposal.proposal();
             final long vR = proposal.vR();
 
             if (isValid(v, height()) && (lockRound <= vR || Objects.equals(lockedValue, v))) {
-                broadcastPrevote(height(), round, v.sha256Base64Hash());
+                broadcastPrevote(height(), round, v.getId());
             } else {
-                broadcastPrevote(height(), round, null);
+                broadcastPrevote(height(), round, ValueId.NIL);
             }
             step = Step.PREVOTE;
         }
@@ -794,47 +1489,43 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         @Override
         public boolean evaluateCondition(@NonNull TendermintValidatorMessage<?> tMsg) {
             Proposal proposal;
-            Prevote prevote;
 
             if (tMsg instanceof ProposalMessage proMsg) {
                 proposal = proMsg.getProposal();
-                prevote = new Prevote(proposal.h(), proposal.r(), proposal.proposal().sha256Base64Hash());
             } else if (tMsg instanceof PrevoteMessage preMsg) {
-                prevote = preMsg.getPrevote();
-                proposal = findProposal(prevote.h(), prevote.r());
-                log.debug("{} ProposalAndPrevoteForRound by PrevoteMessage, prevote {}, proposal {}", getAgent().getIdentifier(), prevote,
-                          proposal != null ? proposal.proposal().sha256Base64Hash() : null);
-                if (proposal == null || !proposal.proposal().sha256Base64Hash().equals(prevote.idV())) {
-                    log.debug("{} OUT Prevote.idV {}", getAgent().getIdentifier(), prevote.idV());
+                proposal = findProposal(preMsg.getHeight(), preMsg.getRound());
+                if (proposal == null || !proposal.proposal().getId().equals(preMsg.getValue())) {
+                    log.debug("{} OUT Prevote.idV {}", getAgent().getIdentifier(), preMsg.getValue());
                     return false;
                 }
             } else {
                 return false;
             }
 
-            final Block<TendermintTransaction> v = proposal.proposal();
+            final IdentifiedBlock v = proposal.proposal();
+            final long numberPrevote = numberPrevoteFor(proposal.h(), proposal.r(), v.getId());
 
-            log.debug("{} evaluate ProposalAndPrevoteForRound, proposal = {}, prevote = {}, prevoteCounter.containsKey {}",
-                      getAgent().getIdentifier(),
-                      proposal.proposal().sha256Base64Hash(), prevote, prevoteCounter.containsKey(prevote));
+            if (log.isDebugEnabled())
+                log.debug("{} evaluate ProposalAndPrevoteForRound, proposal = {}, numberPrevoteFor {}", getAgent().getIdentifier(), v.getId(),
+                          numberPrevote);
 
             return (step == Step.PREVOTE || step == Step.PRECOMMIT)
                     && (height() == proposal.h() && round == proposal.r())
                     && isValid(v, height())
-                    && (prevoteCounter.containsKey(prevote) && prevoteCounter.get(prevote) >= (2 * f() + 1));
+                    && numberPrevote >= (2 * f() + 1);
         }
 
         @Override
         protected void execution(@NonNull TendermintValidatorMessage<?> tMsg) {
-            final Block<TendermintTransaction> v = findProposal(height(), round).proposal();
+            final IdentifiedBlock v = findProposal(height(), round).proposal();
 
-            log.debug("{} receive 2f + 1 Prevote of v = {}", getAgent().getIdentifier(), v.sha256Base64Hash());
+            log.debug("{} receive 2f + 1 Prevote of v = {}", getAgent().getIdentifier(), v.getId());
 
             if (step == Step.PREVOTE) {
-                log.debug("{} broadcast Precommit for v = {}", getAgent().getIdentifier(), v.sha256Base64Hash());
+                log.debug("{} broadcast Precommit for v = {}", getAgent().getIdentifier(), v.getId());
                 lockedValue = v;
                 lockRound = round;
-                broadcastPrecommit(height(), round, v.sha256Base64Hash());
+                broadcastPrecommit(height(), round, v.getId());
                 step = Step.PRECOMMIT;
             }
             validValue = v;
@@ -854,15 +1545,12 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         @Override
         public boolean evaluateCondition(@NonNull TendermintValidatorMessage<?> tMsg) {
             Proposal proposal;
-            Precommit precommit;
 
             if (tMsg instanceof ProposalMessage proMsg) {
                 proposal = proMsg.getProposal();
-                precommit = new Precommit(proposal.h(), proposal.r(), proposal.proposal().sha256Base64Hash());
             } else if (tMsg instanceof PrecommitMessage preCoMsg) {
-                precommit = preCoMsg.getPrecommit();
-                proposal = findProposal(precommit.h(), precommit.r());
-                if (proposal == null || !proposal.proposal().sha256Base64Hash().equals(precommit.idV())) {
+                proposal = findProposal(preCoMsg.getHeight(), preCoMsg.getRound());
+                if (proposal == null || !proposal.proposal().getId().equals(preCoMsg.getValue())) {
                     return false;
                 }
             } else {
@@ -870,13 +1558,13 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
             }
 
             return height() == proposal.h()
-                    && (precommitCounter.containsKey(precommit) && precommitCounter.get(precommit) >= (2 * f() + 1))
+                    && numberPrecommitFor(proposal.h(), proposal.r(), proposal.proposal().getId()) >= (2 * f() + 1)
                     && !decision.hasBlock(height());
         }
 
         @Override
         protected void execution(@NonNull TendermintValidatorMessage<?> tMsg) {
-            final Block<TendermintTransaction> v = findProposal(height(), tMsg.getRound()).proposal();
+            final IdentifiedBlock v = findProposal(height(), tMsg.getRound()).proposal();
 
             if (isValid(v, height())) {
                 addBlock(v);
@@ -884,30 +1572,14 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
             }
         }
 
-        private void addBlock(Block<TendermintTransaction> v) {
+        private void addBlock(IdentifiedBlock v) {
             // TODO Broadcast to other validators which are not in the committee.
-            decision.addBlock(v);
-            log.info("{} add new block {} {}", getAgent().getIdentifier(), v.getHeight(), v.sha256Base64Hash());
-            updatePoSState(v);
-            Set<TendermintTransaction> blockTransactions = v.getTransactions();
-            reAddPolledTx(blockTransactions);
-            clearTxAddedInBlockchain(blockTransactions);
-        }
-
-        private void reAddPolledTx(Set<TendermintTransaction> blockTransactions) {
-            for (TendermintTransaction tx : polledTx) {
-                if (!blockTransactions.contains(tx)) {
-                    memoryPool.add(tx);
-                    setMemoryPool.add(tx);
-                }
-            }
-        }
-
-        private void clearTxAddedInBlockchain(Set<TendermintTransaction> blockTransactions) {
-            for (TendermintTransaction tx : blockTransactions) {
-                setMemoryPool.remove(tx);
-                memoryPool.remove(tx);
-            }
+            decision.addBlock(v.getBlock());
+            log.info("{} add new block {} {}", getAgent().getIdentifier(), v.getHeight(), v.getId());
+            updatePoSState(v.getBlock());
+            memoryPool.commit(v.getBlock().getTransactions());
+            if (txExpiry != null)
+                v.getBlock().getTransactions().forEach(txExpiry::cancel);
         }
 
         @Override
@@ -916,13 +1588,27 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
         }
     }
 
-    public static record Proposal(long h, long r, Block<TendermintTransaction> proposal, long vR) {
+    public static record Proposal(long h, long r, IdentifiedBlock proposal, long vR) {
+    }
+
+    private record VoteGroup(Class<?> type, long h, long r, ValueId idV) {
     }
 
-    public static record Prevote(long h, long r, String idV) {
+    private record PendingCompactProposal(CompactProposalMessage compactMsg, CompactBlockBuilder builder, boolean retried) {
     }
 
-    public static record Precommit(long h, long r, String idV) {
+    private static class FlushVoteInboxEvent extends Event<Void> {
+
+        public FlushVoteInboxEvent() {
+            super(null);
+        }
+    }
+
+    private static class FlushVoteBundleEvent extends Event<Void> {
+
+        public FlushVoteBundleEvent() {
+            super(null);
+        }
     }
 
     @EqualsAndHashCode(callSuper = true)
@@ -951,7 +1637,7 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
             if (height() == getStage().h() && round == getStage().r() && step == Step.PROPOSE) {
                 log.debug("{} OnTimeoutPropose, Stage({}, {})", getAgent().getIdentifier(), height(), round);
                 increaseTimeoutPropose(round);
-                broadcastPrevote(height(), round, null);
+                broadcastPrevote(height(), round, ValueId.NIL);
                 step = Step.PREVOTE;
             }
         }
@@ -973,7 +1659,7 @@ public class TendermintValidator extends TendermintProtocol implements MessageRe
             if (height() == getStage().h() && round == getStage().r() && step == Step.PREVOTE) {
                 log.debug("{} OnTimeoutPrevote, Stage({}, {})", getAgent().getIdentifier(), height(), round);
                 increaseTimeoutPrevote(round);
-                broadcastPrecommit(height(), round, null);
+                broadcastPrecommit(height(), round, ValueId.NIL);
                 step = Step.PRECOMMIT;
             }
         }
@@ -0,0 +1,56 @@
+package org.paradise.simulation.tendermint.validator;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry shared by all validators of the simulation which maps a validator address to its agent. It is filled during the simulation setup, and
+ * allows to resolve committee members without scanning all agents of the simulation.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ValidatorRegistry {
+
+    // Constants.
+
+    private static final ValidatorRegistry INSTANCE = new ValidatorRegistry();
+
+    // Variables.
+
+    private final Map<String, SimpleAgent.AgentIdentifier> agents = new ConcurrentHashMap<>();
+
+    // Methods.
+
+    public static ValidatorRegistry instance() {
+        return INSTANCE;
+    }
+
+    public void register(@NonNull String address, @NonNull SimpleAgent.AgentIdentifier agent) {
+        agents.put(address, agent);
+    }
+
+    public void unregister(@NonNull String address) {
+        agents.remove(address);
+    }
+
+    /**
+     * @param address the validator address
+     *
+     * @return the agent of the validator, null if no validator is registered with this address.
+     */
+    public SimpleAgent.AgentIdentifier agentOf(@NonNull String address) {
+        return agents.get(address);
+    }
+
+    public int size() {
+        return agents.size();
+    }
+
+    public void clear() {
+        agents.clear();
+    }
+}
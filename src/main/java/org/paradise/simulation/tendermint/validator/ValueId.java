@@ -0,0 +1,89 @@
+package org.paradise.simulation.tendermint.validator;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Id of a value proposed in Tendermint, it is the 32 bytes sha256 hash of the value stored in four longs. The nil value is represented by the
+ * {@link #NIL} sentinel which is only equal to itself.
+ */
+public final class ValueId {
+
+    // Constants.
+
+    public static final int BYTES = 32;
+
+    public static final ValueId NIL = new ValueId(0L, 0L, 0L, 0L);
+
+    // Variables.
+
+    private final long l0;
+    private final long l1;
+    private final long l2;
+    private final long l3;
+
+    private final int hashCode;
+
+    // Constructors.
+
+    private ValueId(long l0, long l1, long l2, long l3) {
+        this.l0 = l0;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l3 = l3;
+        this.hashCode = Long.hashCode(l0 ^ l1 ^ l2 ^ l3);
+    }
+
+    // Methods.
+
+    /**
+     * @param hash the 32 bytes hash
+     *
+     * @return the value id of the hash.
+     *
+     * @throws IllegalArgumentException if the hash is not 32 bytes long
+     */
+    public static ValueId of(@NonNull byte[] hash) {
+        if (hash.length != BYTES)
+            throw new IllegalArgumentException("A ValueId must be " + BYTES + " bytes long, but is " + hash.length + " bytes long");
+
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new ValueId(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * @param base64Hash the base64 representation of a 32 bytes hash
+     *
+     * @return the value id of the hash.
+     */
+    public static ValueId ofBase64(@NonNull String base64Hash) {
+        return of(Base64.getDecoder().decode(base64Hash));
+    }
+
+    public boolean isNil() {
+        return this == NIL;
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(l0).putLong(l1).putLong(l2).putLong(l3).array();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ValueId that) || isNil() || that.isNil()) return false;
+        return l0 == that.l0 && l1 == that.l1 && l2 == that.l2 && l3 == that.l3;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return isNil() ? "NIL" : Base64.getEncoder().encodeToString(toBytes());
+    }
+}
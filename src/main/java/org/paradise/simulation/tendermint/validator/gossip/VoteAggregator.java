@@ -0,0 +1,108 @@
+package org.paradise.simulation.tendermint.validator.gossip;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Aggregation of the votes of a committee by a few of its members. Instead of sending its vote to all members, a member sends it only to the
+ * aggregators of the round. Each aggregator gathers the votes it receives during a short delay and relays them to all members in one bundle.
+ * Therefore, the votes of a stage cost about 2 * aggregatorCount * n messages instead of n * n.
+ * <p>
+ * Aggregators of a round are the aggregatorCount members which follow the round index in the committee order. They change at each round, so that a
+ * faulty aggregator does not block all the rounds of a height.
+ * <p>
+ * Pending votes are not dropped when the aggregator passes to the next height: the votes which decide a height are counted by the aggregators before
+ * they are relayed, and the members which are not aggregators only receive them through bundles. Bundles keep the votes of the current and of the
+ * previous height.
+ *
+ * @param <V> the vote type
+ */
+public class VoteAggregator<V> {
+
+    // Variables.
+
+    @Getter
+    private final int aggregatorCount;
+
+    private final ToLongFunction<V> heightOf;
+    private final List<V> pending;
+
+    // Constructors.
+
+    /**
+     * @param aggregatorCount the number of aggregators of a round
+     * @param heightOf        the height of a vote
+     */
+    public VoteAggregator(int aggregatorCount, @NonNull ToLongFunction<V> heightOf) {
+        if (aggregatorCount < 1)
+            throw new IllegalArgumentException("AggregatorCount must be greater or equal to 1");
+
+        this.aggregatorCount = aggregatorCount;
+        this.heightOf = heightOf;
+        this.pending = Lists.newArrayList();
+    }
+
+    // Methods.
+
+    /**
+     * @param r             the round
+     * @param committeeSize the committee size
+     *
+     * @return the committee indices of the aggregators of the round.
+     */
+    public int[] aggregators(long r, int committeeSize) {
+        int count = Math.min(aggregatorCount, committeeSize);
+        int first = Math.floorMod(r, committeeSize);
+        int[] aggregators = new int[count];
+        for (int i = 0; i < count; i++) {
+            aggregators[i] = (first + i) % committeeSize;
+        }
+        return aggregators;
+    }
+
+    /**
+     * @param memberIndex   the committee index of the member
+     * @param r             the round
+     * @param committeeSize the committee size
+     *
+     * @return true if the member is an aggregator of the round, else false.
+     */
+    public boolean isAggregator(int memberIndex, long r, int committeeSize) {
+        return Math.floorMod(memberIndex - Math.floorMod(r, committeeSize), committeeSize) < Math.min(aggregatorCount, committeeSize);
+    }
+
+    /**
+     * Add the vote to the next bundle to relay.
+     *
+     * @param vote the vote
+     *
+     * @return true if the vote is the first one of the bundle, the bundle must then be scheduled to be relayed.
+     */
+    public boolean aggregate(@NonNull V vote) {
+        pending.add(vote);
+        return pending.size() == 1;
+    }
+
+    /**
+     * @param height the current height
+     *
+     * @return the votes of the current and of the previous height aggregated since the last drain, in their arrival order. Older votes are dropped.
+     */
+    public List<V> drain(long height) {
+        List<V> votes = Lists.newArrayListWithCapacity(pending.size());
+        for (V vote : pending) {
+            if (heightOf.applyAsLong(vote) >= height - 1)
+                votes.add(vote);
+        }
+        pending.clear();
+        return votes;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,170 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * {@link MemoryPool} with one lane per sender. In a lane, transactions are ordered by timestamp, then by arrival order. Senders which have pending
+ * transactions are kept in a ready set, and transactions are reserved in round-robin over the ready senders, one transaction of each sender at a
+ * time. Therefore, blocks are filled fairly between senders and a reservation costs O(number of reserved transactions). Entries are indexed by
+ * transaction hash.
+ */
+public class AccountLaneMemoryPool implements MemoryPool {
+
+    // Variables.
+
+    private final Map<String, Entry> entries;
+    private final Map<String, NavigableSet<Entry>> lanes;
+    private final Set<String> readySenders;
+    private final Set<TendermintTransaction> reserved;
+
+    private long sequence = 0L;
+
+    // Constructors.
+
+    public AccountLaneMemoryPool() {
+        this.entries = Maps.newHashMap();
+        this.lanes = Maps.newHashMap();
+        this.readySenders = Sets.newLinkedHashSet();
+        this.reserved = Sets.newHashSet();
+    }
+
+    // Methods.
+
+    @Override
+    public boolean add(@NonNull TendermintTransaction tx) {
+        if (entries.containsKey(tx.sha256Base64Hash()))
+            return false;
+
+        Entry entry = new Entry(tx, sequence++);
+        entries.put(tx.sha256Base64Hash(), entry);
+        addInLane(entry);
+        return true;
+    }
+
+    private void addInLane(Entry entry) {
+        String sender = entry.tx().getSender();
+        lanes.computeIfAbsent(sender, k -> Sets.newTreeSet()).add(entry);
+        readySenders.add(sender);
+    }
+
+    private void removeFromLane(Entry entry) {
+        String sender = entry.tx().getSender();
+        NavigableSet<Entry> lane = lanes.get(sender);
+        if (lane != null && lane.remove(entry) && lane.isEmpty()) {
+            lanes.remove(sender);
+            readySenders.remove(sender);
+        }
+    }
+
+    @Override
+    public boolean contains(@NonNull TendermintTransaction tx) {
+        return entries.containsKey(tx.sha256Base64Hash());
+    }
+
+    @Override
+    public TendermintTransaction find(@NonNull String txHash) {
+        Entry entry = entries.get(txHash);
+        return entry != null ? entry.tx() : null;
+    }
+
+    @Override
+    public boolean remove(@NonNull TendermintTransaction tx) {
+        Entry entry = entries.remove(tx.sha256Base64Hash());
+        if (entry != null) {
+            if (!reserved.remove(tx))
+                removeFromLane(entry);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Set<TendermintTransaction> reserve(int maxSize, @NonNull Predicate<TendermintTransaction> isValid) {
+        final Set<TendermintTransaction> txSet = Sets.newHashSet();
+
+        while (!readySenders.isEmpty() && txSet.size() < maxSize) {
+            Iterator<String> iterator = readySenders.iterator();
+            String sender = iterator.next();
+            iterator.remove();
+
+            NavigableSet<Entry> lane = lanes.get(sender);
+            Entry entry = lane.pollFirst();
+            if (lane.isEmpty()) {
+                lanes.remove(sender);
+            } else {
+                // Goes back at the end of the round-robin.
+                readySenders.add(sender);
+            }
+
+            if (isValid.test(entry.tx())) {
+                reserved.add(entry.tx());
+                txSet.add(entry.tx());
+            } else {
+                entries.remove(entry.tx().sha256Base64Hash());
+            }
+        }
+
+        return txSet;
+    }
+
+    @Override
+    public Set<TendermintTransaction> reserved() {
+        return Collections.unmodifiableSet(reserved);
+    }
+
+    @Override
+    public void commit(@NonNull Set<TendermintTransaction> committed) {
+        for (TendermintTransaction tx : reserved) {
+            if (!committed.contains(tx)) {
+                addInLane(entries.get(tx.sha256Base64Hash()));
+            }
+        }
+        reserved.clear();
+
+        for (TendermintTransaction tx : committed) {
+            remove(tx);
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long evictedCount() {
+        return 0L;
+    }
+
+    @Override
+    public long refusedCount() {
+        return 0L;
+    }
+
+    /**
+     * @return the number of senders which have pending transactions.
+     */
+    public int readySenderCount() {
+        return readySenders.size();
+    }
+
+    // Inner classes.
+
+    /**
+     * Lane entry ordered by timestamp, then by arrival order.
+     */
+    private record Entry(TendermintTransaction tx, long sequence) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            int timestampComparison = Long.compare(tx.getTimestamp(), o.tx.getTimestamp());
+            return timestampComparison != 0 ? timestampComparison : Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * {@link MemoryPool} which reserves transactions by decreasing fees, and by arrival order for transactions with the same fees. Transactions without
+ * fees have a fee of 0.
+ * <p>
+ * The memory pool is bounded by a maximum number of transactions and a maximum estimated size in bytes. When a new transaction does not fit, the
+ * cheapest pending transactions are evicted until it fits. If the new transaction is itself the cheapest, it is refused. Reserved transactions
+ * count in the bounds but are never evicted. Entries are indexed by transaction hash.
+ */
+@Slf4j
+public class FeePriorityMemoryPool implements MemoryPool {
+
+    // Variables.
+
+    @Getter
+    private final int maxTx;
+
+    @Getter
+    private final long maxBytes;
+
+    private final NavigableSet<Entry> pending;
+    private final Map<String, Entry> entries;
+    private final Set<TendermintTransaction> reserved;
+
+    private long sequence = 0L;
+    private long currentBytes = 0L;
+    private long evicted = 0L;
+    private long refused = 0L;
+
+    // Constructors.
+
+    public FeePriorityMemoryPool(int maxTx, long maxBytes) {
+        if (maxTx < 1)
+            throw new IllegalArgumentException("MaxTx must be greater or equal to 1");
+        if (maxBytes < 1L)
+            throw new IllegalArgumentException("MaxBytes must be greater or equal to 1");
+
+        this.maxTx = maxTx;
+        this.maxBytes = maxBytes;
+        this.pending = Sets.newTreeSet();
+        this.entries = Maps.newHashMap();
+        this.reserved = Sets.newHashSet();
+    }
+
+    // Methods.
+
+    @Override
+    public boolean add(@NonNull TendermintTransaction tx) {
+        if (entries.containsKey(tx.sha256Base64Hash()))
+            return false;
+
+        Entry entry = new Entry(tx, fees(tx), tx.estimatedSize(), sequence++);
+        if (!makeRoomFor(entry)) {
+            refused++;
+            return false;
+        }
+
+        entries.put(tx.sha256Base64Hash(), entry);
+        pending.add(entry);
+        currentBytes += entry.size();
+        return true;
+    }
+
+    /**
+     * Evict the cheapest pending transactions until the entry fits in the memory pool. Nothing is evicted if the entry cannot fit.
+     *
+     * @param entry the entry to add
+     *
+     * @return true if the entry fits in the memory pool, else false.
+     */
+    private boolean makeRoomFor(Entry entry) {
+        long bytesToFree = currentBytes + entry.size() - maxBytes;
+        long txToFree = entries.size() + 1L - maxTx;
+
+        if (bytesToFree <= 0L && txToFree <= 0L)
+            return true;
+
+        long freeableBytes = 0L;
+        long freeableTx = 0L;
+        Iterator<Entry> cheapest = pending.descendingIterator();
+        while ((freeableBytes < bytesToFree || freeableTx < txToFree) && cheapest.hasNext()) {
+            Entry candidate = cheapest.next();
+            if (candidate.compareTo(entry) < 0) {
+                // All other pending entries have a greater priority than the entry to add.
+                return false;
+            }
+            freeableBytes += candidate.size();
+            freeableTx++;
+        }
+
+        if (freeableBytes < bytesToFree || freeableTx < txToFree)
+            return false;
+
+        for (long i = 0; i < freeableTx; i++) {
+            Entry cheapestEntry = pending.pollLast();
+            entries.remove(cheapestEntry.tx().sha256Base64Hash());
+            currentBytes -= cheapestEntry.size();
+            evicted++;
+        }
+        log.debug("Evict {} transactions from the memory pool", freeableTx);
+
+        return true;
+    }
+
+    @Override
+    public boolean contains(@NonNull TendermintTransaction tx) {
+        return entries.containsKey(tx.sha256Base64Hash());
+    }
+
+    @Override
+    public TendermintTransaction find(@NonNull String txHash) {
+        Entry entry = entries.get(txHash);
+        return entry != null ? entry.tx() : null;
+    }
+
+    @Override
+    public boolean remove(@NonNull TendermintTransaction tx) {
+        Entry entry = entries.remove(tx.sha256Base64Hash());
+        if (entry != null) {
+            if (!reserved.remove(tx))
+                pending.remove(entry);
+            currentBytes -= entry.size();
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Set<TendermintTransaction> reserve(int maxSize, @NonNull Predicate<TendermintTransaction> isValid) {
+        final Set<TendermintTransaction> txSet = Sets.newHashSet();
+
+        while (!pending.isEmpty() && txSet.size() < maxSize) {
+            Entry entry = pending.pollFirst();
+            if (isValid.test(entry.tx())) {
+                reserved.add(entry.tx());
+                txSet.add(entry.tx());
+            } else {
+                entries.remove(entry.tx().sha256Base64Hash());
+                currentBytes -= entry.size();
+            }
+        }
+
+        return txSet;
+    }
+
+    @Override
+    public Set<TendermintTransaction> reserved() {
+        return Collections.unmodifiableSet(reserved);
+    }
+
+    @Override
+    public void commit(@NonNull Set<TendermintTransaction> committed) {
+        for (TendermintTransaction tx : reserved) {
+            if (!committed.contains(tx)) {
+                pending.add(entries.get(tx.sha256Base64Hash()));
+            }
+        }
+        reserved.clear();
+
+        for (TendermintTransaction tx : committed) {
+            remove(tx);
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long evictedCount() {
+        return evicted;
+    }
+
+    @Override
+    public long refusedCount() {
+        return refused;
+    }
+
+    private static long fees(TendermintTransaction tx) {
+        return tx instanceof TendermintMoneyTx moneyTx ? moneyTx.getFees() : 0L;
+    }
+
+    // Inner classes.
+
+    /**
+     * Pending entry ordered by decreasing fees, then by arrival order.
+     */
+    private record Entry(TendermintTransaction tx, long fees, int size, long sequence) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            int feesComparison = Long.compare(o.fees, fees);
+            return feesComparison != 0 ? feesComparison : Long.compare(sequence, o.sequence);
+        }
+    }
+}
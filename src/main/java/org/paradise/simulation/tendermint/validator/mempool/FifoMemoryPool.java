@@ -0,0 +1,119 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * {@link MemoryPool} which reserves transactions in their arrival order. Pending and reserved transactions are kept in linked hash sets, therefore
+ * add, contains and remove are done in constant time. Transactions are also indexed by hash. This memory pool is not bounded and never evicts
+ * transactions.
+ */
+public class FifoMemoryPool implements MemoryPool {
+
+    // Variables.
+
+    private final Set<TendermintTransaction> pending;
+    private final Set<TendermintTransaction> reserved;
+    private final Map<String, TendermintTransaction> byHash;
+
+    // Constructors.
+
+    public FifoMemoryPool() {
+        this.pending = Sets.newLinkedHashSet();
+        this.reserved = Sets.newLinkedHashSet();
+        this.byHash = Maps.newHashMap();
+    }
+
+    // Methods.
+
+    @Override
+    public boolean add(@NonNull TendermintTransaction tx) {
+        if (!reserved.contains(tx) && pending.add(tx)) {
+            byHash.put(tx.sha256Base64Hash(), tx);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean contains(@NonNull TendermintTransaction tx) {
+        return pending.contains(tx) || reserved.contains(tx);
+    }
+
+    @Override
+    public TendermintTransaction find(@NonNull String txHash) {
+        return byHash.get(txHash);
+    }
+
+    @Override
+    public boolean remove(@NonNull TendermintTransaction tx) {
+        if (pending.remove(tx) || reserved.remove(tx)) {
+            byHash.remove(tx.sha256Base64Hash());
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Set<TendermintTransaction> reserve(int maxSize, @NonNull Predicate<TendermintTransaction> isValid) {
+        final Set<TendermintTransaction> txSet = Sets.newHashSet();
+
+        Iterator<TendermintTransaction> iterator = pending.iterator();
+        while (iterator.hasNext() && txSet.size() < maxSize) {
+            TendermintTransaction tx = iterator.next();
+            iterator.remove();
+            if (isValid.test(tx)) {
+                reserved.add(tx);
+                txSet.add(tx);
+            } else
+                byHash.remove(tx.sha256Base64Hash());
+        }
+
+        return txSet;
+    }
+
+    @Override
+    public Set<TendermintTransaction> reserved() {
+        return Collections.unmodifiableSet(reserved);
+    }
+
+    @Override
+    public void commit(@NonNull Set<TendermintTransaction> committed) {
+        for (TendermintTransaction tx : reserved) {
+            if (!committed.contains(tx)) {
+                pending.add(tx);
+            }
+        }
+        reserved.clear();
+
+        for (TendermintTransaction tx : committed) {
+            pending.remove(tx);
+            byHash.remove(tx.sha256Base64Hash());
+        }
+    }
+
+    @Override
+    public int size() {
+        return pending.size() + reserved.size();
+    }
+
+    @Override
+    public long evictedCount() {
+        return 0L;
+    }
+
+    @Override
+    public long refusedCount() {
+        return 0L;
+    }
+}
@@ -0,0 +1,84 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Transactions waiting to be added in a block. A transaction is either pending, or reserved by a proposal of the current height. Reserved
+ * transactions come back to the pending transactions if they are not committed.
+ */
+public interface MemoryPool {
+
+    /**
+     * Add the transaction to the pending transactions.
+     *
+     * @param tx the transaction
+     *
+     * @return true if the transaction has been added, false if the memory pool already contains it or refuses it.
+     */
+    boolean add(@NonNull TendermintTransaction tx);
+
+    /**
+     * @param tx the transaction
+     *
+     * @return true if the transaction is pending or reserved, else false.
+     */
+    boolean contains(@NonNull TendermintTransaction tx);
+
+    /**
+     * @param txHash the base64 sha256 hash of the transaction
+     *
+     * @return the pending or reserved transaction which has the specified hash, null if the memory pool does not contain it.
+     */
+    TendermintTransaction find(@NonNull String txHash);
+
+    /**
+     * Remove the transaction from the pending and reserved transactions.
+     *
+     * @param tx the transaction
+     *
+     * @return true if the memory pool contained the transaction, else false.
+     */
+    boolean remove(@NonNull TendermintTransaction tx);
+
+    /**
+     * Take from the pending transactions at most maxSize valid transactions and reserve them. Invalid transactions met are dropped.
+     *
+     * @param maxSize the maximum number of transactions to reserve
+     * @param isValid the transaction validity predicate
+     *
+     * @return the transactions reserved by this call.
+     */
+    Set<TendermintTransaction> reserve(int maxSize, @NonNull Predicate<TendermintTransaction> isValid);
+
+    /**
+     * @return an unmodifiable view of the transactions reserved since the last commit.
+     */
+    Set<TendermintTransaction> reserved();
+
+    /**
+     * Remove the committed transactions from the memory pool and bring back the reserved transactions which have not been committed to the pending
+     * transactions.
+     *
+     * @param committed the transactions of the committed block
+     */
+    void commit(@NonNull Set<TendermintTransaction> committed);
+
+    /**
+     * @return the number of pending and reserved transactions.
+     */
+    int size();
+
+    /**
+     * @return the number of pending transactions dropped to make room for new ones.
+     */
+    long evictedCount();
+
+    /**
+     * @return the number of new transactions refused because the memory pool was full and no room could be made for them.
+     */
+    long refusedCount();
+}
@@ -0,0 +1,23 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemoryPoolFactory {
+
+    // Methods.
+
+    public static MemoryPool fifoMemoryPool() {
+        return new FifoMemoryPool();
+    }
+
+    public static MemoryPool feePriorityMemoryPool(int maxTx, long maxBytes) {
+        return new FeePriorityMemoryPool(maxTx, maxBytes);
+    }
+
+    public static MemoryPool accountLaneMemoryPool() {
+        return new AccountLaneMemoryPool();
+    }
+
+}
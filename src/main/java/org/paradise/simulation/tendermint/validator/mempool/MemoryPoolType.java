@@ -0,0 +1,53 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import lombok.NonNull;
+
+public enum MemoryPoolType {
+
+    /**
+     * See {@link FifoMemoryPool}.
+     */
+    FIFO("fifo"),
+
+    /**
+     * See {@link FeePriorityMemoryPool}.
+     */
+    FEE_PRIORITY("feePriority"),
+
+    /**
+     * See {@link AccountLaneMemoryPool}.
+     */
+    ACCOUNT_LANE("accountLane");
+
+    // Variables.
+
+    private final String configName;
+
+    // Constructors.
+
+    MemoryPoolType(String configName) {
+        this.configName = configName;
+    }
+
+    // Methods.
+
+    /**
+     * @param configName the name of the memory pool type in the configuration
+     *
+     * @return the memory pool type with the specified configuration name.
+     *
+     * @throws IllegalArgumentException if there is no memory pool type with the specified configuration name
+     */
+    public static MemoryPoolType fromConfigName(@NonNull String configName) {
+        for (MemoryPoolType type : values()) {
+            if (type.configName.equals(configName))
+                return type;
+        }
+
+        throw new IllegalArgumentException("Unknown memory pool type " + configName);
+    }
+
+    public String configName() {
+        return configName;
+    }
+}
@@ -0,0 +1,128 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel over the simulation time. The time is split in ticks of {@code tickDuration}, and an item which expires at the tick t is stored
+ * in the slot {@code t mod wheelSize}. Advancing the wheel only visits the slots of the ticks passed since the last advance, therefore the expiry
+ * cost depends on the number of items which expire and not on the number of items in the wheel.
+ * <p>
+ * The current deadline of each item is kept in a map, therefore an item has at most one deadline. Scheduling an item again replaces its deadline and
+ * cancelling it removes its deadline, the timeouts left in the slots are dropped without expiring the item when their slot is visited.
+ *
+ * @param <T> the type of the items, which must implement equals and hashCode
+ */
+public class TimerWheel<T> {
+
+    // Variables.
+
+    private final ArrayDeque<Timeout<T>>[] slots;
+    private final int mask;
+    private final Map<T, Long> deadlineTicks;
+
+    @Getter
+    private final long tickDuration;
+
+    private long currentTick;
+
+    // Constructors.
+
+    /**
+     * @param wheelSize    the number of slots, rounded up to a power of two
+     * @param tickDuration the duration of a tick in simulation time
+     * @param startTime    the current simulation time
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int wheelSize, long tickDuration, long startTime) {
+        if (wheelSize < 1)
+            throw new IllegalArgumentException("WheelSize must be greater or equal to 1");
+        if (tickDuration < 1L)
+            throw new IllegalArgumentException("TickDuration must be greater or equal to 1");
+
+        int powerOfTwo = Integer.highestOneBit(wheelSize);
+        if (powerOfTwo < wheelSize)
+            powerOfTwo <<= 1;
+
+        this.slots = new ArrayDeque[powerOfTwo];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.mask = powerOfTwo - 1;
+        this.deadlineTicks = Maps.newHashMap();
+        this.tickDuration = tickDuration;
+        this.currentTick = startTime / tickDuration;
+    }
+
+    // Methods.
+
+    /**
+     * Schedule the expiry of the item at the deadline, rounded up to the next tick. If the deadline is already passed, the item expires at the next
+     * advance. If the item is already scheduled, its previous deadline is replaced.
+     *
+     * @param item     the item
+     * @param deadline the simulation time at which the item expires
+     */
+    public void schedule(@NonNull T item, long deadline) {
+        long deadlineTick = Math.max(-Math.floorDiv(-deadline, tickDuration), currentTick + 1);
+        slots[(int) (deadlineTick & mask)].add(new Timeout<>(item, deadlineTick));
+        deadlineTicks.put(item, deadlineTick);
+    }
+
+    /**
+     * Cancel the expiry of the item.
+     *
+     * @param item the item
+     *
+     * @return true if the item was scheduled, else false.
+     */
+    public boolean cancel(@NonNull T item) {
+        return deadlineTicks.remove(item) != null;
+    }
+
+    /**
+     * Advance the wheel to the specified simulation time and give to the consumer all items which have expired.
+     *
+     * @param now       the current simulation time
+     * @param onExpired the consumer of expired items
+     */
+    public void advance(long now, @NonNull Consumer<T> onExpired) {
+        long targetTick = now / tickDuration;
+        long nbTicks = Math.min(targetTick - currentTick, slots.length);
+        for (long i = 1; i <= nbTicks; i++) {
+            Iterator<Timeout<T>> iterator = slots[(int) ((currentTick + i) & mask)].iterator();
+            while (iterator.hasNext()) {
+                Timeout<T> timeout = iterator.next();
+                if (timeout.deadlineTick() <= targetTick) {
+                    iterator.remove();
+                    Long deadlineTick = deadlineTicks.get(timeout.item());
+                    if (deadlineTick != null && deadlineTick == timeout.deadlineTick()) {
+                        deadlineTicks.remove(timeout.item());
+                        onExpired.accept(timeout.item());
+                    }
+                }
+            }
+        }
+
+        if (targetTick > currentTick)
+            currentTick = targetTick;
+    }
+
+    /**
+     * @return the number of scheduled items.
+     */
+    public int size() {
+        return deadlineTicks.size();
+    }
+
+    // Inner classes.
+
+    private record Timeout<T>(T item, long deadlineTick) {
+    }
+}
@@ -0,0 +1,19 @@
+package org.paradise.simulation.tendermint.validator.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.simulation.tendermint.validator.proposal.BlockPart;
+
+/**
+ * A part of the proposal of the stage. The sender is the proposer or a committee member which relays a part received from the proposer.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class BlockPartMessage extends TendermintValidatorMessage<BlockPart> {
+
+    // Constructors.
+
+    public BlockPartMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull BlockPart part) {
+        super(sender, height, round, part);
+    }
+}
@@ -0,0 +1,24 @@
+package org.paradise.simulation.tendermint.validator.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.simulation.tendermint.validator.proposal.CompactBlock;
+
+@EqualsAndHashCode(callSuper = true)
+public class CompactProposalMessage extends TendermintValidatorMessage<CompactBlock> {
+
+    // Variables.
+
+    @Getter
+    private final long validRound;
+
+    // Constructors.
+
+    public CompactProposalMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull CompactBlock proposal,
+                                  long validRound) {
+        super(sender, height, round, proposal);
+        this.validRound = validRound;
+    }
+}
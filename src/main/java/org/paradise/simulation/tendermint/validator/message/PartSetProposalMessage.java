@@ -0,0 +1,24 @@
+package org.paradise.simulation.tendermint.validator.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.simulation.tendermint.validator.proposal.PartSetProposal;
+
+@EqualsAndHashCode(callSuper = true)
+public class PartSetProposalMessage extends TendermintValidatorMessage<PartSetProposal> {
+
+    // Variables.
+
+    @Getter
+    private final long validRound;
+
+    // Constructors.
+
+    public PartSetProposalMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull PartSetProposal proposal,
+                                  long validRound) {
+        super(sender, height, round, proposal);
+        this.validRound = validRound;
+    }
+}
@@ -3,20 +3,14 @@ package org.paradise.simulation.tendermint.validator.message;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
-import org.paradise.simulation.tendermint.validator.TendermintValidator;
+import org.paradise.simulation.tendermint.validator.ValueId;
 
 @EqualsAndHashCode(callSuper = true)
-public class PrevoteMessage extends TendermintValidatorMessage<String> {
+public class PrevoteMessage extends TendermintValidatorMessage<ValueId> {
 
     // Constructors.
 
-    public PrevoteMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, String value) {
+    public PrevoteMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull ValueId value) {
         super(sender, height, round, value);
     }
-
-    // Methods.
-
-    public TendermintValidator.Prevote getPrevote() {
-        return new TendermintValidator.Prevote(getHeight(), getRound(), getContent());
-    }
 }
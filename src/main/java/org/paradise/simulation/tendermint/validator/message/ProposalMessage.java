@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import org.paradise.palmbeach.blockchain.block.Block;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
 import org.paradise.simulation.tendermint.validator.TendermintValidator;
 import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
 
@@ -16,17 +17,22 @@ public class ProposalMessage extends TendermintValidatorMessage<Block<Tendermint
     @Getter
     private final long validRound;
 
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private final IdentifiedBlock identifiedValue;
+
     // Constructors.
 
-    public ProposalMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, Block<TendermintTransaction> proposal,
+    public ProposalMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull IdentifiedBlock proposal,
                            long validRound) {
-        super(sender, height, round, proposal);
+        super(sender, height, round, proposal.getBlock());
         this.validRound = validRound;
+        this.identifiedValue = proposal;
     }
 
     // Methods.
 
     public TendermintValidator.Proposal getProposal() {
-        return new TendermintValidator.Proposal(getHeight(), getRound(), getContent(), getValidRound());
+        return new TendermintValidator.Proposal(getHeight(), getRound(), getIdentifiedValue(), getValidRound());
     }
 }
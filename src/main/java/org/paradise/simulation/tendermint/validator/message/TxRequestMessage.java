@@ -0,0 +1,21 @@
+package org.paradise.simulation.tendermint.validator.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+
+import java.util.List;
+
+/**
+ * Request sent to the proposer of the stage for the transactions of its compact proposal which are missing. The content is the list of the hashes
+ * of the missing transactions.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class TxRequestMessage extends TendermintValidatorMessage<List<String>> {
+
+    // Constructors.
+
+    public TxRequestMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull List<String> txHashes) {
+        super(sender, height, round, List.copyOf(txHashes));
+    }
+}
@@ -0,0 +1,21 @@
+package org.paradise.simulation.tendermint.validator.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+
+import java.util.List;
+
+/**
+ * Answer of the proposer to a {@link TxRequestMessage}, the content is the list of requested transactions the proposer has found.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class TxResponseMessage extends TendermintValidatorMessage<List<TendermintTransaction>> {
+
+    // Constructors.
+
+    public TxResponseMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round, @NonNull List<TendermintTransaction> txs) {
+        super(sender, height, round, List.copyOf(txs));
+    }
+}
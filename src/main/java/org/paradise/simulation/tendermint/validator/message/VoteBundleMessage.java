@@ -0,0 +1,29 @@
+package org.paradise.simulation.tendermint.validator.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+import java.util.List;
+
+/**
+ * Several votes sent in one message. Each vote keeps its own sender, height, round and value id, the sender of the bundle is only the validator
+ * which relays them. Votes are {@link PrevoteMessage} or {@link PrecommitMessage}.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class VoteBundleMessage extends TendermintValidatorMessage<List<TendermintValidatorMessage<ValueId>>> {
+
+    // Constructors.
+
+    public VoteBundleMessage(@NonNull SimpleAgent.AgentIdentifier sender, long height, long round,
+                             @NonNull List<TendermintValidatorMessage<ValueId>> votes) {
+        super(sender, height, round, List.copyOf(votes));
+    }
+
+    // Methods.
+
+    public List<TendermintValidatorMessage<ValueId>> getVotes() {
+        return getContent();
+    }
+}
@@ -0,0 +1,73 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Committees shared by all validators of the simulation. All validators select the committee of a height with the same seed, therefore validators
+ * which have the same {@link ProofOfStakeState} select the same committee. The cache memoizes committees by height and PoS state version, so that a
+ * committee is only selected once per height as long as validators agree on the PoS state. A validator with a different state version misses the
+ * cache and selects its own committee.
+ * <p>
+ * Only committees of the last {@link #HEIGHT_WINDOW} heights are kept.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CommitteeCache {
+
+    // Constants.
+
+    private static final CommitteeCache INSTANCE = new CommitteeCache();
+
+    public static final long HEIGHT_WINDOW = 16L;
+
+    // Variables.
+
+    private final Map<Key, Set<String>> committees = new ConcurrentHashMap<>();
+
+    // Methods.
+
+    public static CommitteeCache instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the committee of the height, selects it with a {@link Random} seeded with the height if it is not already cached.
+     *
+     * @param height        the height
+     * @param posState      the PoS state of the caller
+     * @param committeeSize the committee size
+     * @param selector      the committee selector
+     *
+     * @return the unmodifiable committee of the height.
+     */
+    public Set<String> committee(long height, @NonNull ProofOfStakeState posState, int committeeSize, @NonNull CommitteeSelector selector) {
+        Key key = new Key(height, posState.getVersion(), posState.getTotalWeight(), committeeSize, selector);
+        Set<String> committee = committees.get(key);
+        if (committee == null) {
+            committee = Set.copyOf(selector.selectCommittee(posState, committeeSize, new Random(height)));
+            if (committees.putIfAbsent(key, committee) == null)
+                committees.keySet().removeIf(k -> k.height() <= height - HEIGHT_WINDOW);
+        }
+
+        return committee;
+    }
+
+    public int size() {
+        return committees.size();
+    }
+
+    public void clear() {
+        committees.clear();
+    }
+
+    // Inner classes.
+
+    private record Key(long height, long posVersion, long posTotalWeight, int committeeSize, CommitteeSelector selector) {
+    }
+}
@@ -2,6 +2,7 @@ package org.paradise.simulation.tendermint.validator.pos;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CommitteeSelectorFactory {
@@ -12,4 +13,15 @@ public class CommitteeSelectorFactory {
         return SimpleCommitteeSelector.instance();
     }
 
+    public static CommitteeSelector fenwickCommitteeSelector() {
+        return FenwickCommitteeSelector.instance();
+    }
+
+    public static CommitteeSelector committeeSelector(@NonNull CommitteeSelectorType type) {
+        return switch (type) {
+            case SIMPLE -> basicCommitteeSelector();
+            case FENWICK -> fenwickCommitteeSelector();
+        };
+    }
+
 }
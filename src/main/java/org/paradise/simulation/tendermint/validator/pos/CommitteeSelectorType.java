@@ -0,0 +1,48 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import lombok.NonNull;
+
+public enum CommitteeSelectorType {
+
+    /**
+     * See {@link SimpleCommitteeSelector}.
+     */
+    SIMPLE("simple"),
+
+    /**
+     * See {@link FenwickCommitteeSelector}.
+     */
+    FENWICK("fenwick");
+
+    // Variables.
+
+    private final String configName;
+
+    // Constructors.
+
+    CommitteeSelectorType(String configName) {
+        this.configName = configName;
+    }
+
+    // Methods.
+
+    /**
+     * @param configName the name of the committee selector type in the configuration
+     *
+     * @return the committee selector type with the specified configuration name.
+     *
+     * @throws IllegalArgumentException if there is no committee selector type with the specified configuration name
+     */
+    public static CommitteeSelectorType fromConfigName(@NonNull String configName) {
+        for (CommitteeSelectorType type : values()) {
+            if (type.configName.equals(configName))
+                return type;
+        }
+
+        throw new IllegalArgumentException("Unknown committee selector type " + configName);
+    }
+
+    public String configName() {
+        return configName;
+    }
+}
@@ -0,0 +1,92 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import com.google.common.collect.Sets;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Stake-weighted committee selection without replacement based on a Fenwick tree over the weights of nodes sorted by address. Each seat draws a
+ * random point in the remaining total weight, finds the node which owns it by descending the tree and then removes the node weight from the tree.
+ * The tree is built from the prefix sums of the PoS state snapshot, therefore selecting a committee of size c over n nodes is done in
+ * O(n + c log n).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FenwickCommitteeSelector implements CommitteeSelector {
+
+    // Constants.
+
+    private static final FenwickCommitteeSelector INSTANCE = new FenwickCommitteeSelector();
+
+    // Methods.
+
+    public static FenwickCommitteeSelector instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Set<String> selectCommittee(ProofOfStakeState posState, int committeeSize, @NonNull RandomGenerator randomGenerator) {
+        final ProofOfStakeState.Snapshot snapshot = posState.snapshot();
+        final Set<String> committee = Sets.newHashSet();
+
+        if (committeeSize >= snapshot.size()) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                committee.add(snapshot.address(i));
+            }
+            return committee;
+        }
+
+        final long[] tree = buildTree(snapshot);
+        final int highestBit = Integer.highestOneBit(snapshot.size());
+        long remainingWeight = snapshot.getTotalWeight();
+
+        for (int c = 0; c < committeeSize && remainingWeight > 0; c++) {
+            long point = randomGenerator.nextLong(remainingWeight);
+            int index = find(tree, highestBit, point);
+            committee.add(snapshot.address(index));
+            update(tree, index + 1, -snapshot.weight(index));
+            remainingWeight -= snapshot.weight(index);
+        }
+
+        return committee;
+    }
+
+    /**
+     * Build the 1-indexed Fenwick tree of the node weights in O(n), the node i covers the weights of the nodes in (i - lowbit(i), i].
+     */
+    private static long[] buildTree(ProofOfStakeState.Snapshot snapshot) {
+        final long[] tree = new long[snapshot.size() + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] = snapshot.prefixWeight(i) - snapshot.prefixWeight(i - (i & -i));
+        }
+        return tree;
+    }
+
+    private static void update(long[] tree, int i, long delta) {
+        for (; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @param tree       the Fenwick tree
+     * @param highestBit the highest power of two less or equal to the number of nodes
+     * @param point      a point in [0, remaining total weight)
+     *
+     * @return the 0-indexed position of the node whose weight interval contains the point.
+     */
+    private static int find(long[] tree, int highestBit, long point) {
+        int position = 0;
+        for (int step = highestBit; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= point) {
+                position = next;
+                point -= tree[next];
+            }
+        }
+        return position;
+    }
+}
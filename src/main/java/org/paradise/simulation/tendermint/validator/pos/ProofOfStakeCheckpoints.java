@@ -0,0 +1,221 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongFunction;
+
+/**
+ * {@link ProofOfStakeState} checkpoints shared by all validators of the simulation. A checkpoint is the snapshot of the PoS state and a copy of the
+ * {@link StakeLedger} after the block of a height, it is identified by the height and the hash of the block, so that validators which have
+ * different blocks at the same height never share a checkpoint. Only the checkpoints of the last {@link #MAX_HEIGHTS_IN_MEMORY} heights are kept in
+ * memory. Checkpoints can also be written in a directory, in which case they are read back when they are not in memory.
+ * <p>
+ * Rebuilding a PoS state only needs to restore the nearest checkpoint and to apply the blocks after it.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProofOfStakeCheckpoints {
+
+    // Constants.
+
+    private static final ProofOfStakeCheckpoints INSTANCE = new ProofOfStakeCheckpoints();
+
+    public static final int MAX_HEIGHTS_IN_MEMORY = 16;
+
+    private static final String FILE_PREFIX = "pos-";
+    private static final String FILE_SEPARATOR = "-";
+    private static final String FILE_EXTENSION = ".checkpoint";
+
+    private static final String WEIGHT_LINE = "w";
+    private static final String LOCK_LINE = "l";
+    private static final String UNLOCKABLE_LINE = "u";
+
+    // Variables.
+
+    private final NavigableMap<Long, Map<String, Checkpoint>> checkpoints = new ConcurrentSkipListMap<>();
+
+    // Methods.
+
+    public static ProofOfStakeCheckpoints instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Save the checkpoint if there is not already a checkpoint for the same height and block hash. Checkpoints of the lowest heights are dropped from
+     * the memory to keep at most {@link #MAX_HEIGHTS_IN_MEMORY} heights.
+     *
+     * @param height    the height of the block
+     * @param blockHash the base64 hash of the block
+     * @param snapshot  the PoS state snapshot after the block
+     * @param ledger    the stake ledger after the block, it is copied
+     * @param directory the directory where the checkpoint is written, null to only keep it in memory
+     */
+    public void save(long height, @NonNull String blockHash, @NonNull ProofOfStakeState.Snapshot snapshot, @NonNull StakeLedger ledger,
+                     Path directory) {
+        Map<String, Checkpoint> atHeight = checkpoints.computeIfAbsent(height, k -> new ConcurrentHashMap<>());
+        if (!atHeight.containsKey(blockHash)) {
+            Checkpoint checkpoint = new Checkpoint(height, snapshot, ledger.copy());
+            if (atHeight.putIfAbsent(blockHash, checkpoint) == null && directory != null)
+                write(directory, blockHash, checkpoint);
+        }
+        prune();
+    }
+
+    private void prune() {
+        while (checkpoints.size() > MAX_HEIGHTS_IN_MEMORY) {
+            checkpoints.pollFirstEntry();
+        }
+    }
+
+    /**
+     * @param maxHeight the maximal height of the checkpoint
+     * @param blockHash the function which returns the base64 hash of the block of the caller at a height
+     * @param directory the directory where checkpoints are written, null to only search in memory
+     *
+     * @return the checkpoint with the highest height less or equal to the max height which matches the block of the caller at its height, null if
+     * there is no such checkpoint.
+     */
+    public Checkpoint nearest(long maxHeight, @NonNull LongFunction<String> blockHash, Path directory) {
+        Checkpoint inMemory = nearestInMemory(maxHeight, blockHash);
+        Checkpoint onDisk = directory != null ? nearestOnDisk(maxHeight, blockHash, directory, inMemory != null ? inMemory.height() : -1L) : null;
+        return onDisk != null ? onDisk : inMemory;
+    }
+
+    private Checkpoint nearestInMemory(long maxHeight, LongFunction<String> blockHash) {
+        for (Map.Entry<Long, Map<String, Checkpoint>> entry : checkpoints.headMap(maxHeight, true).descendingMap().entrySet()) {
+            Checkpoint checkpoint = entry.getValue().get(blockHash.apply(entry.getKey()));
+            if (checkpoint != null)
+                return checkpoint;
+        }
+        return null;
+    }
+
+    private Checkpoint nearestOnDisk(long maxHeight, LongFunction<String> blockHash, Path directory, long minHeight) {
+        if (!Files.isDirectory(directory))
+            return null;
+
+        List<Long> heights = Lists.newArrayList();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String height = name.substring(FILE_PREFIX.length(), name.indexOf(FILE_SEPARATOR, FILE_PREFIX.length()));
+                heights.add(Long.parseLong(height));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Cannot list PoS checkpoints in {}", directory, e);
+            return null;
+        }
+
+        heights.sort(Comparator.reverseOrder());
+        for (long height : heights) {
+            if (height <= minHeight)
+                break;
+
+            Path file = directory.resolve(fileName(height, blockHash.apply(height)));
+            if (height <= maxHeight && Files.exists(file)) {
+                Checkpoint checkpoint = read(file, height);
+                if (checkpoint != null) {
+                    checkpoints.computeIfAbsent(height, k -> new ConcurrentHashMap<>()).putIfAbsent(blockHash.apply(height), checkpoint);
+                    prune();
+                    return checkpoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String fileName(long height, String blockHash) {
+        // Base64 hash can contain '/' which is not allowed in file names.
+        return FILE_PREFIX + height + FILE_SEPARATOR + blockHash.replace('/', '_').replace('+', '.') + FILE_EXTENSION;
+    }
+
+    /**
+     * Write one line per weight ("w address weight"), per lock not yet expired ("l address amount expiryHeight") and per unlockable amount
+     * ("u address amount"). Locks are written in their creation order.
+     */
+    private static void write(Path directory, String blockHash, Checkpoint checkpoint) {
+        Path file = directory.resolve(fileName(checkpoint.height(), blockHash));
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                ProofOfStakeState.Snapshot snapshot = checkpoint.snapshot();
+                for (int i = 0; i < snapshot.size(); i++) {
+                    writeLine(writer, WEIGHT_LINE, snapshot.address(i), snapshot.weight(i));
+                }
+
+                List<StakeLedger.Lock> locks = Lists.newArrayList();
+                checkpoint.ledger().forEachLock(locks::add);
+                locks.sort(Comparator.comparingLong(StakeLedger.Lock::sequence));
+                for (StakeLedger.Lock lock : locks) {
+                    writeLine(writer, LOCK_LINE, lock.address(), lock.amount(), lock.expiryHeight());
+                }
+
+                for (Map.Entry<String, Long> unlockable : checkpoint.ledger().unlockableAmounts().entrySet()) {
+                    writeLine(writer, UNLOCKABLE_LINE, unlockable.getKey(), unlockable.getValue());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Cannot write the PoS checkpoint {}", file, e);
+        }
+    }
+
+    private static void writeLine(BufferedWriter writer, String type, String address, long... values) throws IOException {
+        StringBuilder line = new StringBuilder(type).append(' ').append(address);
+        for (long value : values) {
+            line.append(' ').append(value);
+        }
+        writer.write(line.toString());
+        writer.newLine();
+    }
+
+    private static Checkpoint read(Path file, long height) {
+        ProofOfStakeState posState = new ProofOfStakeState();
+        StakeLedger ledger = new StakeLedger();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(" ");
+                switch (fields[0]) {
+                    case WEIGHT_LINE -> posState.initiateAddressWeight(fields[1], Long.parseLong(fields[2]));
+                    case LOCK_LINE -> ledger.lock(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+                    case UNLOCKABLE_LINE -> ledger.addUnlockable(fields[1], Long.parseLong(fields[2]));
+                    default -> throw new IllegalStateException("Unknown PoS checkpoint line " + line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Cannot read the PoS checkpoint {}", file, e);
+            return null;
+        }
+        return new Checkpoint(height, posState.snapshot(), ledger);
+    }
+
+    public void clear() {
+        checkpoints.clear();
+    }
+
+    // Inner classes.
+
+    /**
+     * A checkpoint. The ledger is a copy owned by the checkpoint, it must be restored with {@link StakeLedger#restore(StakeLedger)} and never
+     * modified.
+     */
+    public record Checkpoint(long height, @NonNull ProofOfStakeState.Snapshot snapshot, @NonNull StakeLedger ledger) {
+    }
+}
@@ -5,10 +5,18 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Weight of each validator address. Besides the address map, the state keeps a view of (address, weight) pairs sorted by address which is updated
+ * incrementally at each change. Committee selectors read this view through a {@link Snapshot}: an immutable view which shares the sorted arrays
+ * with the state. Arrays are only copied if the state changes after a snapshot has been taken, and the prefix sums of weights are computed at most
+ * one time per snapshot.
+ */
 @Slf4j
 public class ProofOfStakeState {
 
@@ -16,9 +24,20 @@ public class ProofOfStakeState {
 
     private final Map<String, Long> nodes;
 
+    private String[] sortedAddresses = new String[0];
+    private long[] sortedWeights = new long[0];
+    private Snapshot snapshot;
+
     @Getter
     private long totalWeight;
 
+    /**
+     * Fingerprint of the content of the state, sum of a mixed hash of each (address, weight) pair. It is maintained incrementally at each change,
+     * two states with the same nodes have the same version whatever the order of the changes which lead to them.
+     */
+    @Getter
+    private long version;
+
     // Constructors.
 
     public ProofOfStakeState() {
@@ -30,6 +49,10 @@ public class ProofOfStakeState {
     public void clear() {
         nodes.clear();
         totalWeight = 0L;
+        version = 0L;
+        sortedAddresses = new String[0];
+        sortedWeights = new long[0];
+        snapshot = null;
     }
 
     /**
@@ -42,8 +65,11 @@ public class ProofOfStakeState {
         Long old = nodes.put(address, initialWeight);
         if (old != null) {
             totalWeight -= old;
+            version -= nodeHash(address, old);
         }
         totalWeight += initialWeight;
+        version += nodeHash(address, initialWeight);
+        putSorted(address, initialWeight);
     }
 
     /**
@@ -55,8 +81,14 @@ public class ProofOfStakeState {
      */
     public void addWeight(@NonNull String address, long additionalWeight) {
         if (additionalWeight > 0) {
-            nodes.merge(address, additionalWeight, Long::sum);
+            Long old = nodes.get(address);
+            long nextWeight = old != null ? old + additionalWeight : additionalWeight;
+            nodes.put(address, nextWeight);
             totalWeight += additionalWeight;
+            if (old != null)
+                version -= nodeHash(address, old);
+            version += nodeHash(address, nextWeight);
+            putSorted(address, nextWeight);
         }
     }
 
@@ -71,16 +103,117 @@ public class ProofOfStakeState {
         if (weightToRemove > 0 && nodes.containsKey(address)) {
             long currentWeight = nodes.get(address);
             long nextWeight = currentWeight - weightToRemove;
+            version -= nodeHash(address, currentWeight);
             if (nextWeight > 0) {
                 nodes.put(address, nextWeight);
                 totalWeight -= weightToRemove;
+                version += nodeHash(address, nextWeight);
+                putSorted(address, nextWeight);
             } else {
                 long old = nodes.remove(address);
                 totalWeight -= old;
+                removeSorted(address);
             }
         }
     }
 
+    /**
+     * Set the weight of the address in the sorted view. Changing the weight of an already present address is done in place, unless the weights are
+     * shared with a snapshot.
+     */
+    private void putSorted(String address, long weight) {
+        int index = Arrays.binarySearch(sortedAddresses, address);
+        if (index >= 0) {
+            if (snapshot != null)
+                sortedWeights = sortedWeights.clone();
+            sortedWeights[index] = weight;
+        } else {
+            int insertion = -(index + 1);
+            String[] addresses = new String[sortedAddresses.length + 1];
+            long[] weights = new long[sortedWeights.length + 1];
+            System.arraycopy(sortedAddresses, 0, addresses, 0, insertion);
+            System.arraycopy(sortedWeights, 0, weights, 0, insertion);
+            addresses[insertion] = address;
+            weights[insertion] = weight;
+            System.arraycopy(sortedAddresses, insertion, addresses, insertion + 1, sortedAddresses.length - insertion);
+            System.arraycopy(sortedWeights, insertion, weights, insertion + 1, sortedWeights.length - insertion);
+            sortedAddresses = addresses;
+            sortedWeights = weights;
+        }
+        snapshot = null;
+    }
+
+    private void removeSorted(String address) {
+        int index = Arrays.binarySearch(sortedAddresses, address);
+        if (index >= 0) {
+            String[] addresses = new String[sortedAddresses.length - 1];
+            long[] weights = new long[sortedWeights.length - 1];
+            System.arraycopy(sortedAddresses, 0, addresses, 0, index);
+            System.arraycopy(sortedWeights, 0, weights, 0, index);
+            System.arraycopy(sortedAddresses, index + 1, addresses, index, addresses.length - index);
+            System.arraycopy(sortedWeights, index + 1, weights, index, weights.length - index);
+            sortedAddresses = addresses;
+            sortedWeights = weights;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Replace the content of the state by the content of the snapshot.
+     *
+     * @param checkpoint the snapshot to restore
+     */
+    public void restore(@NonNull Snapshot checkpoint) {
+        nodes.clear();
+        for (int i = 0; i < checkpoint.size(); i++) {
+            nodes.put(checkpoint.addresses[i], checkpoint.weights[i]);
+        }
+        sortedAddresses = checkpoint.addresses;
+        sortedWeights = checkpoint.weights;
+        totalWeight = checkpoint.totalWeight;
+        version = checkpoint.version;
+        snapshot = checkpoint;
+    }
+
+    /**
+     * @return an immutable view of the current state sorted by address. The same snapshot is returned as long as the state does not change.
+     */
+    public Snapshot snapshot() {
+        if (snapshot == null)
+            snapshot = new Snapshot(sortedAddresses, sortedWeights, totalWeight, version);
+        return snapshot;
+    }
+
+    private static long nodeHash(String address, long weight) {
+        return mix(addressHash(address) + weight);
+    }
+
+    /**
+     * 64 bits FNV-1a hash of the UTF-8 bytes of the address, mixed. {@link String#hashCode()} is too short: addresses with the same 32 bits hash and
+     * the same weight would give the same version to different states.
+     */
+    private static long addressHash(String address) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : address.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xffL;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
     public Node getNode(@NonNull String address) {
         if (nodes.containsKey(address)) {
             return new Node(address, nodes.get(address));
@@ -96,4 +229,100 @@ public class ProofOfStakeState {
 
     public static record Node(@NonNull String address, long weight) {
     }
+
+    /**
+     * Immutable view of a {@link ProofOfStakeState} sorted by address. The prefix sums of weights are computed the first time they are needed. A
+     * snapshot can be shared between validators through {@link ProofOfStakeCheckpoints}, therefore the prefix sums are published through a volatile
+     * field, and they are only read from a local copy of the field.
+     */
+    public static final class Snapshot {
+
+        // Variables.
+
+        private final String[] addresses;
+        private final long[] weights;
+        private volatile long[] prefixWeights;
+
+        @Getter
+        private final long totalWeight;
+
+        @Getter
+        private final long version;
+
+        // Constructors.
+
+        private Snapshot(String[] addresses, long[] weights, long totalWeight, long version) {
+            this.addresses = addresses;
+            this.weights = weights;
+            this.totalWeight = totalWeight;
+            this.version = version;
+        }
+
+        // Methods.
+
+        public int size() {
+            return addresses.length;
+        }
+
+        public String address(int index) {
+            return addresses[index];
+        }
+
+        public long weight(int index) {
+            return weights[index];
+        }
+
+        /**
+         * @param index the index
+         *
+         * @return the sum of the weights of all nodes before the index, the node at the index excluded.
+         */
+        public long prefixWeight(int index) {
+            return prefixWeights()[index];
+        }
+
+        /**
+         * @param point a point in [0, total weight)
+         *
+         * @return the index of the node which owns the point, in other words the node i such as prefixWeight(i) <= point < prefixWeight(i + 1).
+         */
+        public int indexOf(long point) {
+            if (point < 0 || point >= totalWeight)
+                throw new IllegalArgumentException("Point must be in [0, " + totalWeight + "), but is " + point);
+
+            long[] prefix = prefixWeights();
+            int low = 0;
+            int high = addresses.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (prefix[middle] <= point)
+                    low = middle;
+                else
+                    high = middle - 1;
+            }
+            return low;
+        }
+
+        /**
+         * @param address the address
+         *
+         * @return the index of the address, a negative value if the address has no weight (see {@link Arrays#binarySearch(Object[], Object)}).
+         */
+        public int indexOf(@NonNull String address) {
+            return Arrays.binarySearch(addresses, address);
+        }
+
+        private long[] prefixWeights() {
+            long[] prefix = prefixWeights;
+            if (prefix == null) {
+                // Concurrent first calls compute the same sums, the last write wins and all arrays are complete when they are published.
+                prefix = new long[addresses.length + 1];
+                for (int i = 0; i < weights.length; i++) {
+                    prefix[i + 1] = prefix[i] + weights[i];
+                }
+                prefixWeights = prefix;
+            }
+            return prefix;
+        }
+    }
 }
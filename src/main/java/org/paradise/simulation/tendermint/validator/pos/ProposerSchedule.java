@@ -0,0 +1,155 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import com.google.common.collect.Lists;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Proposers of a height, computed with the Tendermint proposer priority algorithm. Committee members are sorted by address and each one has a
+ * priority. For each round, the weight of each member is added to its priority, the member with the highest priority (the lowest address in case of
+ * equality) is the proposer of the round, and the total weight is subtracted from its priority. Therefore, each member proposes proportionally to
+ * its weight.
+ * <p>
+ * Proposers are computed lazily round after round and kept, so that the proposer lookup is done in constant time. The schedule of the next height
+ * starts from the priorities after the round 0 of the current height, whatever the number of rounds executed by a validator, so that all validators
+ * which see the same committees compute the same schedules.
+ */
+public class ProposerSchedule {
+
+    // Variables.
+
+    private final String[] addresses;
+    private final long[] weights;
+    private final long totalWeight;
+
+    private final long[] basePriorities;
+    private final long[] priorities;
+    private final List<String> proposers;
+
+    // Constructors.
+
+    /**
+     * Create the first schedule, all priorities start at 0.
+     *
+     * @param posState  the PoS state which gives the weight of committee members
+     * @param committee the committee addresses
+     */
+    public ProposerSchedule(@NonNull ProofOfStakeState posState, @NonNull Set<String> committee) {
+        this(posState, committee, null);
+    }
+
+    private ProposerSchedule(ProofOfStakeState posState, Set<String> committee, ProposerSchedule previous) {
+        if (committee.isEmpty())
+            throw new IllegalArgumentException("Cannot compute the proposer schedule of an empty committee");
+
+        this.addresses = committee.stream().sorted().toArray(String[]::new);
+        this.weights = new long[addresses.length];
+        long total = 0L;
+        for (int i = 0; i < addresses.length; i++) {
+            ProofOfStakeState.Node node = posState.getNode(addresses[i]);
+            weights[i] = node != null ? Math.max(node.weight(), 1L) : 1L;
+            total += weights[i];
+        }
+        this.totalWeight = total;
+
+        this.basePriorities = new long[addresses.length];
+        if (previous != null) {
+            previous.inheritPriorities(addresses, basePriorities);
+            center(basePriorities);
+        }
+        this.priorities = Arrays.copyOf(basePriorities, basePriorities.length);
+        this.proposers = Lists.newArrayList();
+    }
+
+    private ProposerSchedule(ProposerSchedule previous) {
+        this.addresses = previous.addresses;
+        this.weights = previous.weights;
+        this.totalWeight = previous.totalWeight;
+
+        this.basePriorities = new long[addresses.length];
+        previous.inheritPriorities(addresses, basePriorities);
+        center(basePriorities);
+        this.priorities = Arrays.copyOf(basePriorities, basePriorities.length);
+        this.proposers = Lists.newArrayList();
+    }
+
+    // Methods.
+
+    /**
+     * @return the schedule of the next height with the same committee and the same weights.
+     */
+    public ProposerSchedule next() {
+        return new ProposerSchedule(this);
+    }
+
+    /**
+     * @param posState  the PoS state which gives the weight of committee members
+     * @param committee the committee addresses of the next height
+     *
+     * @return the schedule of the next height. Members which are still in the committee keep their priority after the round 0 of this schedule,
+     * new members start at 0.
+     */
+    public ProposerSchedule next(@NonNull ProofOfStakeState posState, @NonNull Set<String> committee) {
+        return new ProposerSchedule(posState, committee, this);
+    }
+
+    private void inheritPriorities(String[] nextAddresses, long[] nextPriorities) {
+        long[] afterFirstRound = Arrays.copyOf(basePriorities, basePriorities.length);
+        step(afterFirstRound);
+        for (int i = 0; i < nextAddresses.length; i++) {
+            int index = Arrays.binarySearch(addresses, nextAddresses[i]);
+            nextPriorities[i] = index >= 0 ? afterFirstRound[index] : 0L;
+        }
+    }
+
+    private static void center(long[] priorities) {
+        long sum = 0L;
+        for (long priority : priorities) {
+            sum += priority;
+        }
+        long average = Math.floorDiv(sum, priorities.length);
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] -= average;
+        }
+    }
+
+    /**
+     * Execute one round of the proposer priority algorithm on the specified priorities.
+     *
+     * @param currentPriorities the priorities to update
+     *
+     * @return the index of the proposer of the round.
+     */
+    private int step(long[] currentPriorities) {
+        int proposer = 0;
+        for (int i = 0; i < currentPriorities.length; i++) {
+            currentPriorities[i] += weights[i];
+            if (currentPriorities[i] > currentPriorities[proposer])
+                proposer = i;
+        }
+        currentPriorities[proposer] -= totalWeight;
+        return proposer;
+    }
+
+    /**
+     * @param r the round
+     *
+     * @return the address of the proposer of the round.
+     */
+    public String proposer(long r) {
+        if (r < 0)
+            throw new IllegalArgumentException("Round must be greater or equal to 0");
+
+        while (proposers.size() <= r) {
+            proposers.add(addresses[step(priorities)]);
+        }
+        return proposers.get((int) r);
+    }
+
+    public int committeeSize() {
+        return addresses.length;
+    }
+}
@@ -26,16 +26,13 @@ public class SimpleCommitteeSelector implements CommitteeSelector {
     public Set<String> selectCommittee(ProofOfStakeState posState, int committeeSize, @NonNull RandomGenerator randomGenerator) {
         final Set<String> committee = Sets.newHashSet();
 
-        final Set<ProofOfStakeState.Node> nodes = posState.allNodes();
-        final long totalWeight = posState.getTotalWeight();
-
-        final Interval[] intervalArray = new Interval[nodes.size()];
-        long ite = 1L;
-        int i = 0;
-        for (ProofOfStakeState.Node node : nodes) {
-            intervalArray[i] = new Interval(node, ite, ite + (node.weight() - 1));
-            ite += node.weight();
-            i++;
+        final ProofOfStakeState.Snapshot snapshot = posState.snapshot();
+        final long totalWeight = snapshot.getTotalWeight();
+
+        final Interval[] intervalArray = new Interval[snapshot.size()];
+        for (int i = 0; i < intervalArray.length; i++) {
+            long min = snapshot.prefixWeight(i) + 1L;
+            intervalArray[i] = new Interval(new ProofOfStakeState.Node(snapshot.address(i), snapshot.weight(i)), min, min + (snapshot.weight(i) - 1));
         }
 
         Set<Interval> removedInterval = Sets.newHashSet();
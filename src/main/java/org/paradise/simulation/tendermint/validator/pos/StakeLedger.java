@@ -0,0 +1,152 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import com.google.common.collect.Maps;
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Time locks of the stake. Each locked stake is kept in a priority queue ordered by the height at which its lock expires. When the lock expires, the
+ * stake becomes unlockable, and only unlockable stake can be removed by an unlock. Recording a lock and expiring a lock cost O(log n), where n is the
+ * number of locks not yet expired.
+ */
+public class StakeLedger {
+
+    // Variables.
+
+    private final PriorityQueue<Lock> locks;
+    private final Map<String, Long> unlockable;
+    private long lockSequence = 0L;
+
+    // Constructors.
+
+    public StakeLedger() {
+        this.locks = new PriorityQueue<>(Comparator.comparingLong(Lock::expiryHeight).thenComparingLong(Lock::sequence));
+        this.unlockable = Maps.newHashMap();
+    }
+
+    private StakeLedger(StakeLedger other) {
+        this.locks = new PriorityQueue<>(other.locks);
+        this.unlockable = Maps.newHashMap(other.unlockable);
+        this.lockSequence = other.lockSequence;
+    }
+
+    // Methods.
+
+    /**
+     * Lock the stake until the expiry height.
+     *
+     * @param address      the staker address
+     * @param amount       the locked amount
+     * @param expiryHeight the height from which the stake can be unlocked
+     */
+    public void lock(@NonNull String address, long amount, long expiryHeight) {
+        if (amount > 0)
+            locks.add(new Lock(address, amount, expiryHeight, lockSequence++));
+    }
+
+    /**
+     * Add stake which can be unlocked right away.
+     *
+     * @param address the staker address
+     * @param amount  the unlockable amount
+     */
+    public void addUnlockable(@NonNull String address, long amount) {
+        if (amount > 0)
+            unlockable.merge(address, amount, Long::sum);
+    }
+
+    /**
+     * Make unlockable all locks which expire at a height less or equal to the specified height.
+     *
+     * @param height the current height
+     *
+     * @return the number of locks which have expired.
+     */
+    public int expireUntil(long height) {
+        int expired = 0;
+        while (!locks.isEmpty() && locks.peek().expiryHeight() <= height) {
+            Lock lock = locks.poll();
+            addUnlockable(lock.address(), lock.amount());
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * @param address the staker address
+     *
+     * @return the amount of stake of the address which can be unlocked.
+     */
+    public long unlockableAmount(@NonNull String address) {
+        return unlockable.getOrDefault(address, 0L);
+    }
+
+    /**
+     * Unlock at most the specified amount of the unlockable stake of the address.
+     *
+     * @param address the staker address
+     * @param amount  the amount to unlock
+     *
+     * @return the amount really unlocked.
+     */
+    public long unlock(@NonNull String address, long amount) {
+        long available = unlockableAmount(address);
+        long unlocked = Math.max(0L, Math.min(amount, available));
+        if (unlocked == available)
+            unlockable.remove(address);
+        else
+            unlockable.put(address, available - unlocked);
+        return unlocked;
+    }
+
+    /**
+     * @param action the action to apply to each lock not yet expired
+     */
+    public void forEachLock(@NonNull Consumer<Lock> action) {
+        locks.forEach(action);
+    }
+
+    /**
+     * @return the unmodifiable map of the unlockable amount of each address.
+     */
+    public Map<String, Long> unlockableAmounts() {
+        return Collections.unmodifiableMap(unlockable);
+    }
+
+    public int lockCount() {
+        return locks.size();
+    }
+
+    public StakeLedger copy() {
+        return new StakeLedger(this);
+    }
+
+    /**
+     * Replace the content of the ledger by the content of the specified ledger.
+     *
+     * @param other the ledger to restore
+     */
+    public void restore(@NonNull StakeLedger other) {
+        locks.clear();
+        locks.addAll(other.locks);
+        unlockable.clear();
+        unlockable.putAll(other.unlockable);
+        lockSequence = other.lockSequence;
+    }
+
+    public void clear() {
+        locks.clear();
+        unlockable.clear();
+        lockSequence = 0L;
+    }
+
+    // Inner classes.
+
+    public record Lock(@NonNull String address, long amount, long expiryHeight, long sequence) {
+    }
+}
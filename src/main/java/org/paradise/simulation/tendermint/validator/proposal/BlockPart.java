@@ -0,0 +1,56 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+
+/**
+ * A part of a block, a chunk of consecutive transactions of the block, with the merkle proof which links the part hash to the root of the
+ * {@link PartSetHeader}.
+ *
+ * @param index the index of the part in the part set
+ * @param total the number of parts of the part set
+ * @param txs   the transactions of the part
+ * @param proof the sibling hashes from the part hash up to the root, see {@link PartSet#merkleProof(List, int)}
+ */
+public record BlockPart(int index, int total, @NonNull List<TendermintTransaction> txs, @NonNull List<ValueId> proof) {
+
+    // Constructors.
+
+    public BlockPart {
+        if (index < 0 || index >= total)
+            throw new IllegalArgumentException("Part index must be in [0, " + total + "), but is " + index);
+
+        txs = List.copyOf(txs);
+        proof = List.copyOf(proof);
+    }
+
+    // Methods.
+
+    /**
+     * @return the sha256 hash of the part index and of the hashes of its transactions.
+     */
+    public ValueId hash() {
+        MessageDigest digest = getSha256Digest();
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(index).array());
+        for (TendermintTransaction tx : txs) {
+            digest.update(tx.sha256Hash());
+        }
+        return ValueId.of(digest.digest());
+    }
+
+    /**
+     * @param header the header of the part set
+     *
+     * @return true if the part belongs to a part set of the header size and its proof leads from its hash to the header root, else false.
+     */
+    public boolean verify(@NonNull PartSetHeader header) {
+        return total == header.total() && header.root().equals(PartSet.rootFromProof(hash(), index, total, proof));
+    }
+}
@@ -0,0 +1,41 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+import java.util.List;
+
+/**
+ * A block where transactions are replaced by their base64 sha256 hash, in the iteration order of the block transactions. Receivers rebuild the block
+ * from the transactions they already have with a {@link CompactBlockBuilder}, and check the rebuilt block against the id of the original block.
+ *
+ * @param height    the block height
+ * @param timestamp the block timestamp
+ * @param previous  the hash of the previous block
+ * @param txHashes  the hashes of the block transactions
+ * @param id        the id of the original block
+ */
+public record CompactBlock(long height, long timestamp, @NonNull String previous, @NonNull List<String> txHashes, @NonNull ValueId id) {
+
+    // Constructors.
+
+    public CompactBlock {
+        txHashes = List.copyOf(txHashes);
+    }
+
+    // Methods.
+
+    /**
+     * @param identifiedBlock the block to compact
+     *
+     * @return the compact block of the block.
+     */
+    public static CompactBlock of(@NonNull IdentifiedBlock identifiedBlock) {
+        Block<TendermintTransaction> block = identifiedBlock.getBlock();
+        List<String> txHashes = block.getTransactions().stream().map(TendermintTransaction::sha256Base64Hash).toList();
+        return new CompactBlock(block.getHeight(), block.getTimestamp(), block.getPrevious(), txHashes, identifiedBlock.getId());
+    }
+}
@@ -0,0 +1,97 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.Getter;
+import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rebuild the block of a {@link CompactBlock}. Transactions are first looked up among the transactions already known by the validator, the missing
+ * ones must then be added one by one, for example when they are received from the proposer.
+ */
+public class CompactBlockBuilder {
+
+    // Variables.
+
+    @Getter
+    private final CompactBlock compactBlock;
+
+    private final TendermintTransaction[] txs;
+    private final Map<String, Integer> missing;
+
+    // Constructors.
+
+    /**
+     * @param compactBlock the compact block to rebuild
+     * @param lookup       gives the known transaction with the specified hash, or null if the transaction is not known
+     */
+    public CompactBlockBuilder(@NonNull CompactBlock compactBlock, @NonNull Function<String, TendermintTransaction> lookup) {
+        this.compactBlock = compactBlock;
+
+        List<String> txHashes = compactBlock.txHashes();
+        this.txs = new TendermintTransaction[txHashes.size()];
+        this.missing = Maps.newHashMap();
+        for (int i = 0; i < txHashes.size(); i++) {
+            TendermintTransaction tx = lookup.apply(txHashes.get(i));
+            if (tx != null)
+                txs[i] = tx;
+            else
+                missing.put(txHashes.get(i), i);
+        }
+    }
+
+    // Methods.
+
+    /**
+     * @return an unmodifiable view of the hashes of the transactions still missing.
+     */
+    public Set<String> missingTxHashes() {
+        return Collections.unmodifiableSet(missing.keySet());
+    }
+
+    /**
+     * Add a missing transaction.
+     *
+     * @param tx the transaction
+     *
+     * @return true if the transaction was missing, else false.
+     */
+    public boolean add(@NonNull TendermintTransaction tx) {
+        Integer index = missing.remove(tx.sha256Base64Hash());
+        if (index != null) {
+            txs[index] = tx;
+            return true;
+        }
+
+        return false;
+    }
+
+    public boolean isComplete() {
+        return missing.isEmpty();
+    }
+
+    /**
+     * @return the rebuilt block, null if it does not have the id of the compact block.
+     *
+     * @throws IllegalStateException if transactions are still missing
+     */
+    public IdentifiedBlock build() {
+        if (!isComplete())
+            throw new IllegalStateException("Cannot build the block, " + missing.size() + " transactions are missing");
+
+        Set<TendermintTransaction> transactions = Sets.newLinkedHashSet();
+        Collections.addAll(transactions, txs);
+        IdentifiedBlock block = new IdentifiedBlock(new Block<>(compactBlock.height(), compactBlock.timestamp(), compactBlock.previous(),
+                                                                transactions));
+        return block.getId().equals(compactBlock.id()) ? block : null;
+    }
+}
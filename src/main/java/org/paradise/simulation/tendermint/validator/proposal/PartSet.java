@@ -0,0 +1,216 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+
+/**
+ * The transactions of a block split in {@link BlockPart}s, as in Tendermint. The proposer splits its block and announces the {@link PartSetHeader},
+ * receivers gather the parts in any order. Each part carries a merkle proof and is checked against the root of the header when it is added, so a
+ * wrong part never takes the place of the right one.
+ * <p>
+ * In the merkle tree, each level hashes the concatenation of two consecutive hashes of the level below, the last hash of an odd level goes up as is.
+ */
+public class PartSet {
+
+    // Variables.
+
+    private final PartSetHeader header;
+
+    private final BlockPart[] parts;
+    private int count;
+
+    // Constructors.
+
+    /**
+     * Create an empty part set to gather the parts of the header.
+     *
+     * @param header the header of the part set
+     */
+    public PartSet(@NonNull PartSetHeader header) {
+        if (header.total() < 1)
+            throw new IllegalArgumentException("A part set must have at least one part");
+
+        this.header = header;
+        this.parts = new BlockPart[header.total()];
+        this.count = 0;
+    }
+
+    // Methods.
+
+    /**
+     * @param block    the block to split
+     * @param partSize the maximum number of transactions of a part
+     *
+     * @return the complete part set of the block transactions.
+     */
+    public static PartSet of(@NonNull IdentifiedBlock block, int partSize) {
+        return of(block.getBlock().getTransactions(), partSize);
+    }
+
+    /**
+     * @param txs      the transactions to split, in their iteration order
+     * @param partSize the maximum number of transactions of a part
+     *
+     * @return the complete part set of the transactions. A part set without transactions has one empty part.
+     */
+    public static PartSet of(@NonNull Collection<TendermintTransaction> txs, int partSize) {
+        if (partSize < 1)
+            throw new IllegalArgumentException("Part size must be greater or equal to 1");
+
+        List<List<TendermintTransaction>> chunks = Lists.partition(Lists.newArrayList(txs), partSize);
+        int total = Math.max(chunks.size(), 1);
+        List<List<TendermintTransaction>> partTxs = chunks.isEmpty() ? List.of(List.of()) : chunks;
+
+        List<ValueId> hashes = Lists.newArrayListWithCapacity(total);
+        for (int i = 0; i < total; i++) {
+            hashes.add(new BlockPart(i, total, partTxs.get(i), List.of()).hash());
+        }
+
+        PartSet partSet = new PartSet(new PartSetHeader(total, merkleRoot(hashes)));
+        for (int i = 0; i < total; i++) {
+            partSet.add(new BlockPart(i, total, partTxs.get(i), merkleProof(hashes, i)));
+        }
+        return partSet;
+    }
+
+    /**
+     * Add the part if it is not already known and if its proof matches the header.
+     *
+     * @param part the part
+     *
+     * @return true if the part has been added, else false.
+     */
+    public boolean add(@NonNull BlockPart part) {
+        if (part.total() != parts.length || parts[part.index()] != null || !part.verify(header))
+            return false;
+
+        parts[part.index()] = part;
+        count++;
+        return true;
+    }
+
+    public PartSetHeader header() {
+        return header;
+    }
+
+    public BlockPart part(int index) {
+        return parts[index];
+    }
+
+    public int total() {
+        return parts.length;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isComplete() {
+        return count == parts.length;
+    }
+
+    /**
+     * @return all transactions, in the order of the parts.
+     *
+     * @throws IllegalStateException if parts are missing
+     */
+    public Set<TendermintTransaction> transactions() {
+        if (!isComplete())
+            throw new IllegalStateException((parts.length - count) + " parts are missing");
+
+        Set<TendermintTransaction> txs = Sets.newLinkedHashSet();
+        for (BlockPart part : parts) {
+            txs.addAll(part.txs());
+        }
+        return txs;
+    }
+
+    /**
+     * @param hashes the leaves, at least one
+     *
+     * @return the merkle root of the hashes.
+     */
+    static ValueId merkleRoot(List<ValueId> hashes) {
+        List<ValueId> level = hashes;
+        while (level.size() > 1) {
+            level = upperLevel(level);
+        }
+        return level.get(0);
+    }
+
+    /**
+     * @param hashes the leaves, at least one
+     * @param index  the index of the leaf
+     *
+     * @return the sibling hashes of the leaf from the bottom to the top of the tree. Levels where the node goes up as is have no sibling.
+     */
+    static List<ValueId> merkleProof(List<ValueId> hashes, int index) {
+        List<ValueId> proof = Lists.newArrayList();
+        List<ValueId> level = hashes;
+        int position = index;
+        while (level.size() > 1) {
+            int sibling = position % 2 == 0 ? position + 1 : position - 1;
+            if (sibling < level.size())
+                proof.add(level.get(sibling));
+
+            level = upperLevel(level);
+            position /= 2;
+        }
+        return proof;
+    }
+
+    /**
+     * @param leaf  the hash of the leaf
+     * @param index the index of the leaf
+     * @param total the number of leaves
+     * @param proof the sibling hashes of the leaf from the bottom to the top of the tree
+     *
+     * @return the merkle root computed from the leaf and its proof, null if the proof does not have the length expected for the leaf.
+     */
+    static ValueId rootFromProof(ValueId leaf, int index, int total, List<ValueId> proof) {
+        ValueId current = leaf;
+        int position = index;
+        int levelSize = total;
+        int used = 0;
+        while (levelSize > 1) {
+            int sibling = position % 2 == 0 ? position + 1 : position - 1;
+            if (sibling < levelSize) {
+                if (used == proof.size())
+                    return null;
+                current = position % 2 == 0 ? hashPair(current, proof.get(used)) : hashPair(proof.get(used), current);
+                used++;
+            }
+            position /= 2;
+            levelSize = (levelSize + 1) / 2;
+        }
+        return used == proof.size() ? current : null;
+    }
+
+    private static List<ValueId> upperLevel(List<ValueId> level) {
+        List<ValueId> upperLevel = Lists.newArrayListWithCapacity((level.size() + 1) / 2);
+        for (int i = 0; i + 1 < level.size(); i += 2) {
+            upperLevel.add(hashPair(level.get(i), level.get(i + 1)));
+        }
+        if (level.size() % 2 == 1)
+            upperLevel.add(level.get(level.size() - 1));
+        return upperLevel;
+    }
+
+    private static ValueId hashPair(ValueId left, ValueId right) {
+        MessageDigest digest = getSha256Digest();
+        digest.update(left.toBytes());
+        digest.update(right.toBytes());
+        return ValueId.of(digest.digest());
+    }
+}
@@ -0,0 +1,13 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+/**
+ * Header of a {@link PartSet}, sent with the proposal so that receivers can check the parts they gather.
+ *
+ * @param total the number of parts
+ * @param root  the merkle root of the part hashes
+ */
+public record PartSetHeader(int total, @NonNull ValueId root) {
+}
@@ -0,0 +1,46 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+/**
+ * A block without its transactions, which are sent apart in the parts of the {@link PartSetHeader}.
+ *
+ * @param height        the block height
+ * @param timestamp     the block timestamp
+ * @param previous      the hash of the previous block
+ * @param partSetHeader the header of the part set of the block transactions
+ * @param id            the id of the block
+ */
+public record PartSetProposal(long height, long timestamp, @NonNull String previous, @NonNull PartSetHeader partSetHeader, @NonNull ValueId id) {
+
+    // Methods.
+
+    /**
+     * @param identifiedBlock the proposed block
+     * @param partSetHeader   the header of the part set of the block
+     *
+     * @return the part set proposal of the block.
+     */
+    public static PartSetProposal of(@NonNull IdentifiedBlock identifiedBlock, @NonNull PartSetHeader partSetHeader) {
+        Block<TendermintTransaction> block = identifiedBlock.getBlock();
+        return new PartSetProposal(block.getHeight(), block.getTimestamp(), block.getPrevious(), partSetHeader, identifiedBlock.getId());
+    }
+
+    /**
+     * @param partSet the complete part set, its parts have been checked against its header
+     *
+     * @return the block rebuilt with the part set transactions, null if the part set header is not the one of the proposal or if the block does not
+     * have the expected id.
+     */
+    public IdentifiedBlock rebuild(@NonNull PartSet partSet) {
+        if (!partSet.header().equals(partSetHeader))
+            return null;
+
+        IdentifiedBlock block = new IdentifiedBlock(new Block<>(height, timestamp, previous, partSet.transactions()));
+        return block.getId().equals(id) ? block : null;
+    }
+}
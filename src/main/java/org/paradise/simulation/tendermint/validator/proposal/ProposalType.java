@@ -0,0 +1,53 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import lombok.NonNull;
+
+public enum ProposalType {
+
+    /**
+     * The proposal message carries the whole block.
+     */
+    FULL("full"),
+
+    /**
+     * The proposal message carries a {@link CompactBlock}.
+     */
+    COMPACT("compact"),
+
+    /**
+     * The proposal message carries a {@link PartSetHeader} and the block is sent in {@link BlockPart}s.
+     */
+    PARTS("parts");
+
+    // Variables.
+
+    private final String configName;
+
+    // Constructors.
+
+    ProposalType(String configName) {
+        this.configName = configName;
+    }
+
+    // Methods.
+
+    /**
+     * @param configName the name of the proposal type in the configuration
+     *
+     * @return the proposal type with the specified configuration name.
+     *
+     * @throws IllegalArgumentException if there is no proposal type with the specified configuration name
+     */
+    public static ProposalType fromConfigName(@NonNull String configName) {
+        for (ProposalType type : values()) {
+            if (type.configName.equals(configName))
+                return type;
+        }
+
+        throw new IllegalArgumentException("Unknown proposal type " + configName);
+    }
+
+    public String configName() {
+        return configName;
+    }
+}
@@ -0,0 +1,334 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+import org.paradise.simulation.tendermint.validator.TendermintValidator;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NavigableMap;
+import java.util.Set;
+
+/**
+ * Consensus messages received by a validator and the one time rules it has executed. Everything is kept in one bucket per height: proposals indexed
+ * by round and by valid round, vote senders and vote counters by round, and executed one time rules by round. Passing to the next height drops the
+ * buckets of passed heights at once, whatever the number of messages they contain.
+ * <p>
+ * Vote senders are identified by their dense index in the committee of the height, and the senders of a round are recorded in a {@link BitSet}.
+ * Inside a bucket, rounds are primitive keys of open addressing maps and counters are primitive, so that counting a vote of an already known round
+ * and value does not allocate. The bucket of the last used height is kept aside to avoid boxing the height at each message.
+ */
+public class ConsensusState {
+
+    // Variables.
+
+    private final NavigableMap<Long, HeightState> heights;
+
+    private long lastHeight = -1L;
+    private HeightState lastHeightState;
+
+    // Constructors.
+
+    public ConsensusState() {
+        this.heights = Maps.newTreeMap();
+    }
+
+    // Methods.
+
+    private HeightState height(long h) {
+        HeightState heightState = find(h);
+        if (heightState == null) {
+            heightState = new HeightState();
+            heights.put(h, heightState);
+            lastHeight = h;
+            lastHeightState = heightState;
+        }
+        return heightState;
+    }
+
+    private HeightState find(long h) {
+        if (lastHeightState != null && lastHeight == h)
+            return lastHeightState;
+
+        HeightState heightState = heights.get(h);
+        if (heightState != null) {
+            lastHeight = h;
+            lastHeightState = heightState;
+        }
+        return heightState;
+    }
+
+    /**
+     * Add the proposal.
+     *
+     * @param proposal the proposal to add
+     *
+     * @return true if the proposal was not already received, else false.
+     */
+    public boolean addProposal(@NonNull TendermintValidator.Proposal proposal) {
+        return height(proposal.h()).proposals.add(proposal);
+    }
+
+    /**
+     * Count the prevote if the sender has not already prevoted at the stage.
+     *
+     * @param h      the height of the prevote
+     * @param r      the round of the prevote
+     * @param sender the index of the prevote sender in the committee of the height
+     * @param idV    the value id
+     *
+     * @return true if the prevote has been counted, false if the sender has already prevoted at the stage.
+     */
+    public boolean addPrevote(long h, long r, int sender, @NonNull ValueId idV) {
+        return height(h).prevotes.add(r, sender, idV);
+    }
+
+    /**
+     * Count the precommit if the sender has not already precommitted at the stage.
+     *
+     * @param h      the height of the precommit
+     * @param r      the round of the precommit
+     * @param sender the index of the precommit sender in the committee of the height
+     * @param idV    the value id
+     *
+     * @return true if the precommit has been counted, false if the sender has already precommitted at the stage.
+     */
+    public boolean addPrecommit(long h, long r, int sender, @NonNull ValueId idV) {
+        return height(h).precommits.add(r, sender, idV);
+    }
+
+    /**
+     * Mark the one time rule as executed at the stage (h, r).
+     *
+     * @param rule the index of the one time rule, in [0, 64)
+     * @param h    the height
+     * @param r    the round
+     *
+     * @return true if the rule was not already executed at the stage, else false.
+     */
+    public boolean markExecuted(int rule, long h, long r) {
+        if (rule < 0 || rule >= Long.SIZE)
+            throw new IllegalArgumentException("Rule index must be in [0, " + Long.SIZE + "), but is " + rule);
+
+        LongLongMap executedRules = height(h).executedRules;
+        long executed = executedRules.getOrDefault(r, 0L);
+        long ruleBit = 1L << rule;
+        if ((executed & ruleBit) == 0L) {
+            executedRules.put(r, executed | ruleBit);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param h the height
+     * @param r the round
+     *
+     * @return the first proposal received for the stage (h, r), null if there is no proposal for this stage.
+     */
+    public TendermintValidator.Proposal findProposal(long h, long r) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.proposals.byRound.get(r) : null;
+    }
+
+    /**
+     * @param h  the height
+     * @param vR the valid round
+     *
+     * @return the first proposal received for the height h with the valid round vR, null if there is no such proposal.
+     */
+    public TendermintValidator.Proposal findProposalByValidRound(long h, long vR) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.proposals.byValidRound.get(vR) : null;
+    }
+
+    /**
+     * @param h the height
+     * @param r the round
+     *
+     * @return the number of different proposals received for the stage (h, r).
+     */
+    public long proposalCount(long h, long r) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.proposals.countByRound.getOrDefault(r, 0L) : 0L;
+    }
+
+    /**
+     * @param h the height
+     * @param r the round
+     *
+     * @return the number of prevotes received at the stage (h, r), whatever the value id.
+     */
+    public long prevoteCount(long h, long r) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.prevotes.count(r) : 0L;
+    }
+
+    /**
+     * @param h   the height
+     * @param r   the round
+     * @param idV the value id
+     *
+     * @return the number of prevotes received at the stage (h, r) for the value id.
+     */
+    public long prevoteCount(long h, long r, @NonNull ValueId idV) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.prevotes.count(r, idV) : 0L;
+    }
+
+    /**
+     * @param h the height
+     * @param r the round
+     *
+     * @return the number of precommits received at the stage (h, r), whatever the value id.
+     */
+    public long precommitCount(long h, long r) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.precommits.count(r) : 0L;
+    }
+
+    /**
+     * @param h   the height
+     * @param r   the round
+     * @param idV the value id
+     *
+     * @return the number of precommits received at the stage (h, r) for the value id.
+     */
+    public long precommitCount(long h, long r, @NonNull ValueId idV) {
+        HeightState heightState = find(h);
+        return heightState != null ? heightState.precommits.count(r, idV) : 0L;
+    }
+
+    /**
+     * Drop the buckets of all heights less or equal to the specified height.
+     *
+     * @param h the height
+     */
+    public void clearUntil(long h) {
+        heights.headMap(h, true).clear();
+        if (lastHeight <= h) {
+            lastHeight = -1L;
+            lastHeightState = null;
+        }
+    }
+
+    /**
+     * @return the number of heights which have a bucket.
+     */
+    public int heightCount() {
+        return heights.size();
+    }
+
+    // Inner classes.
+
+    private static class HeightState {
+
+        // Variables.
+
+        private final Proposals proposals = new Proposals();
+        private final Votes prevotes = new Votes();
+        private final Votes precommits = new Votes();
+        private final LongLongMap executedRules = new LongLongMap();
+    }
+
+    private static class Proposals {
+
+        // Variables.
+
+        private final Set<TendermintValidator.Proposal> all = Sets.newHashSet();
+        private final LongObjectMap<TendermintValidator.Proposal> byRound = new LongObjectMap<>();
+        private final LongObjectMap<TendermintValidator.Proposal> byValidRound = new LongObjectMap<>();
+        private final LongLongMap countByRound = new LongLongMap();
+
+        // Methods.
+
+        private boolean add(TendermintValidator.Proposal proposal) {
+            if (all.add(proposal)) {
+                if (byRound.get(proposal.r()) == null)
+                    byRound.put(proposal.r(), proposal);
+                if (byValidRound.get(proposal.vR()) == null)
+                    byValidRound.put(proposal.vR(), proposal);
+                countByRound.addTo(proposal.r(), 1L);
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    private static class Votes {
+
+        // Variables.
+
+        private final LongObjectMap<RoundVotes> rounds = new LongObjectMap<>();
+
+        // Methods.
+
+        private boolean add(long r, int sender, ValueId idV) {
+            return rounds.computeIfAbsent(r, k -> new RoundVotes()).add(sender, idV);
+        }
+
+        private long count(long r) {
+            RoundVotes roundVotes = rounds.get(r);
+            return roundVotes != null ? roundVotes.senders.cardinality() : 0L;
+        }
+
+        private long count(long r, ValueId idV) {
+            RoundVotes roundVotes = rounds.get(r);
+            return roundVotes != null ? roundVotes.count(idV) : 0L;
+        }
+    }
+
+    /**
+     * Senders of the votes of a round, with the number of votes for each value id. A round has very few different value ids, they are kept in small
+     * arrays scanned linearly.
+     */
+    private static class RoundVotes {
+
+        // Variables.
+
+        private final BitSet senders = new BitSet();
+        private ValueId[] values = new ValueId[2];
+        private long[] counts = new long[2];
+        private int valueCount;
+
+        // Methods.
+
+        private boolean add(int sender, ValueId idV) {
+            if (!senders.get(sender)) {
+                senders.set(sender);
+                counts[indexOf(idV)]++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private long count(ValueId idV) {
+            for (int i = 0; i < valueCount; i++) {
+                if (values[i].equals(idV))
+                    return counts[i];
+            }
+            return 0L;
+        }
+
+        /**
+         * @return the index of the value id, it is added if it is not already known.
+         */
+        private int indexOf(ValueId idV) {
+            for (int i = 0; i < valueCount; i++) {
+                if (values[i].equals(idV))
+                    return i;
+            }
+
+            if (valueCount == values.length) {
+                values = Arrays.copyOf(values, valueCount * 2);
+                counts = Arrays.copyOf(counts, valueCount * 2);
+            }
+            values[valueCount] = idV;
+            return valueCount++;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+/**
+ * Open addressing hash map with primitive long keys and long values and linear probing. Neither keys nor values are boxed, therefore reading and
+ * updating a value does not allocate. Entries cannot be removed, the map is meant to be dropped at once.
+ */
+public class LongLongMap {
+
+    // Constants.
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // Variables.
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    // Constructors.
+
+    public LongLongMap() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.values = new long[DEFAULT_CAPACITY];
+        this.used = new boolean[DEFAULT_CAPACITY];
+    }
+
+    // Methods.
+
+    /**
+     * @param key          the key
+     * @param defaultValue the value returned if there is no value mapped to the key
+     *
+     * @return the value mapped to the key, the default value if there is no value mapped to the key.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        int mask = keys.length - 1;
+        for (int i = LongMaps.slot(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key)
+                return values[i];
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Map the value to the key, replaces the previous value if there was one.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(long key, long value) {
+        values[slotOf(key)] = value;
+    }
+
+    /**
+     * Add the delta to the value mapped to the key, a key without value is considered mapped to 0.
+     *
+     * @param key   the key
+     * @param delta the value to add
+     *
+     * @return the new value mapped to the key.
+     */
+    public long addTo(long key, long delta) {
+        int i = slotOf(key);
+        values[i] += delta;
+        return values[i];
+    }
+
+    /**
+     * @return the slot of the key, the key is inserted with the value 0 if it was not already in the map.
+     */
+    private int slotOf(long key) {
+        if (2 * (size + 1) > keys.length)
+            resize();
+
+        int mask = keys.length - 1;
+        int i = LongMaps.slot(key, mask);
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (!used[i]) {
+            used[i] = true;
+            keys[i] = key;
+            values[i] = 0L;
+            size++;
+        }
+        return i;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        used = new boolean[oldUsed.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldUsed[j]) {
+                int i = LongMaps.slot(oldKeys[j], mask);
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                used[i] = true;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,24 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Helpers of the primitive long maps.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LongMaps {
+
+    // Methods.
+
+    /**
+     * @param key  the key
+     * @param mask the table length minus 1, the table length being a power of 2
+     *
+     * @return the first slot of the key in the table, the key is mixed with the Fibonacci hashing multiplier so that consecutive keys are spread.
+     */
+    static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
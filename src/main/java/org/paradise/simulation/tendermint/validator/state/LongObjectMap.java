@@ -0,0 +1,106 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import lombok.NonNull;
+
+import java.util.function.LongFunction;
+
+/**
+ * Open addressing hash map with primitive long keys and linear probing. Keys are never boxed, therefore a lookup does not allocate. Entries cannot be
+ * removed, the map is meant to be dropped at once.
+ *
+ * @param <V> the type of values, values cannot be null
+ */
+public class LongObjectMap<V> {
+
+    // Constants.
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // Variables.
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    // Constructors.
+
+    public LongObjectMap() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.values = new Object[DEFAULT_CAPACITY];
+    }
+
+    // Methods.
+
+    /**
+     * @param key the key
+     *
+     * @return the value mapped to the key, null if there is no value mapped to the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int mask = keys.length - 1;
+        for (int i = LongMaps.slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key)
+                return (V) values[i];
+        }
+        return null;
+    }
+
+    /**
+     * @param key             the key
+     * @param mappingFunction the function which creates the value if there is no value mapped to the key
+     *
+     * @return the value mapped to the key.
+     */
+    public V computeIfAbsent(long key, @NonNull LongFunction<V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Map the value to the key, replaces the previous value if there was one.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(long key, @NonNull V value) {
+        if (2 * (size + 1) > keys.length)
+            resize();
+
+        int mask = keys.length - 1;
+        int i = LongMaps.slot(key, mask);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null)
+            size++;
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = LongMaps.slot(oldKeys[j], mask);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
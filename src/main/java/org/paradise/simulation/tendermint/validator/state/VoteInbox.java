@@ -0,0 +1,60 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Votes already counted whose rule evaluation is postponed. When the inbox is drained, only the first vote of each group is kept: rules only depend
+ * on the group of a vote (its type, its stage and its value id), therefore evaluating them once per group is enough.
+ *
+ * @param <V> the vote type
+ */
+public class VoteInbox<V> {
+
+    // Variables.
+
+    private final List<V> votes = Lists.newArrayList();
+
+    // Methods.
+
+    /**
+     * @param vote the counted vote
+     *
+     * @return true if the vote is the first one of the inbox, the drain of the inbox must then be scheduled.
+     */
+    public boolean add(@NonNull V vote) {
+        votes.add(vote);
+        return votes.size() == 1;
+    }
+
+    /**
+     * Empty the inbox.
+     *
+     * @param group the group of a vote, groups must implement equals and hashCode
+     *
+     * @return the first vote of each group, in the arrival order.
+     */
+    public List<V> drain(@NonNull Function<V, ?> group) {
+        final List<V> firstOfGroups = Lists.newArrayList();
+        final Set<Object> groups = Sets.newHashSet();
+        for (V vote : votes) {
+            if (groups.add(group.apply(vote)))
+                firstOfGroups.add(vote);
+        }
+        votes.clear();
+        return firstOfGroups;
+    }
+
+    public int size() {
+        return votes.size();
+    }
+
+    public void clear() {
+        votes.clear();
+    }
+}
@@ -0,0 +1,160 @@
+package org.paradise.simulation.tendermint.validator.gossip;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("VoteAggregator tests")
+@Tag("VoteAggregator")
+public class VoteAggregatorTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("VoteAggregator aggregators()")
+    @Tag("aggregators")
+    class Aggregators {
+
+        @Test
+        @DisplayName("aggregators() change at each round and agree with isAggregator()")
+        void aggregatorsOfRound() {
+            VoteAggregator<Integer> voteAggregator = new VoteAggregator<>(2, vote -> 1L);
+
+            assertThat(voteAggregator.aggregators(0L, 7)).containsExactly(0, 1);
+            assertThat(voteAggregator.aggregators(6L, 7)).containsExactly(6, 0);
+            for (int member = 0; member < 7; member++) {
+                assertThat(voteAggregator.isAggregator(member, 6L, 7)).isEqualTo(member == 6 || member == 0);
+            }
+        }
+
+        @Test
+        @DisplayName("aggregators() are bounded by the committee size")
+        void aggregatorsBoundedByCommitteeSize() {
+            assertThat(new VoteAggregator<Integer>(5, vote -> 1L).aggregators(1L, 3)).containsExactly(1, 2, 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("VoteAggregator aggregate()")
+    @Tag("aggregate")
+    class Aggregate {
+
+        @Test
+        @DisplayName("aggregate() asks to schedule the relay only for the first vote of a bundle")
+        void firstVoteOfBundle() {
+            VoteAggregator<Integer> voteAggregator = new VoteAggregator<>(1, vote -> 1L);
+
+            assertThat(voteAggregator.aggregate(1)).isTrue();
+            assertThat(voteAggregator.aggregate(2)).isFalse();
+            assertThat(voteAggregator.drain(1L)).containsExactly(1, 2);
+            assertThat(voteAggregator.pendingCount()).isZero();
+            assertThat(voteAggregator.aggregate(3)).isTrue();
+        }
+
+        @Test
+        @DisplayName("all members receive all votes of a stage with far fewer messages than with single votes")
+        void fewerMessagesThanSingleVotes() {
+            int n = 100;
+            long r = 3L;
+            List<VoteAggregator<Integer>> members = Lists.newArrayList();
+            List<Set<Integer>> knownVotes = Lists.newArrayList();
+            for (int i = 0; i < n; i++) {
+                members.add(new VoteAggregator<>(2, vote -> 1L));
+                knownVotes.add(Sets.newHashSet());
+            }
+
+            long messages = 0L;
+            for (int voter = 0; voter < n; voter++) {
+                // Own vote to itself and to the aggregators of the round.
+                knownVotes.get(voter).add(voter);
+                messages++;
+                for (int aggregator : members.get(voter).aggregators(r, n)) {
+                    if (aggregator != voter) {
+                        messages++;
+                        knownVotes.get(aggregator).add(voter);
+                    }
+                    members.get(aggregator).aggregate(voter);
+                }
+            }
+            for (VoteAggregator<Integer> member : members) {
+                List<Integer> bundle = member.drain(1L);
+                if (!bundle.isEmpty()) {
+                    for (Set<Integer> known : knownVotes) {
+                        messages++;
+                        known.addAll(bundle);
+                    }
+                }
+            }
+
+            assertThat(knownVotes).allSatisfy(known -> assertThat(known).hasSize(n));
+            assertThat(messages).isLessThan((long) n * n / 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("VoteAggregator drain()")
+    @Tag("drain")
+    class Drain {
+
+        @Test
+        @DisplayName("drain() keeps the votes of the previous height and drops older ones")
+        void keepPreviousHeight() {
+            VoteAggregator<Vote> voteAggregator = new VoteAggregator<>(1, Vote::height);
+            voteAggregator.aggregate(new Vote(0, 3L));
+            voteAggregator.aggregate(new Vote(1, 4L));
+            voteAggregator.aggregate(new Vote(2, 5L));
+
+            assertThat(voteAggregator.drain(5L)).containsExactly(new Vote(1, 4L), new Vote(2, 5L));
+        }
+
+        @Test
+        @DisplayName("members which are not aggregators commit when all votes reach the aggregators before the relay")
+        void othersCommitAfterAggregatorsDecide() {
+            int n = 4;
+            int quorum = 3;
+            long r = 0L;
+            List<VoteAggregator<Vote>> members = Lists.newArrayList();
+            long[] heights = new long[n];
+            List<Set<Integer>> counted = Lists.newArrayList();
+            for (int i = 0; i < n; i++) {
+                members.add(new VoteAggregator<>(2, Vote::height));
+                heights[i] = 1L;
+                counted.add(Sets.newHashSet());
+            }
+
+            // Every precommit of height 1 reaches the aggregators before the first relay. As the validator, an aggregator counts the vote, commits
+            // at the quorum and passes to the next height, then puts the vote in its bundle.
+            for (int voter = 0; voter < n; voter++) {
+                Vote vote = new Vote(voter, 1L);
+                for (int aggregator : members.get(voter).aggregators(r, n)) {
+                    if (heights[aggregator] == vote.height() && counted.get(aggregator).add(voter) && counted.get(aggregator).size() == quorum)
+                        heights[aggregator]++;
+                    members.get(aggregator).aggregate(vote);
+                }
+            }
+            for (int member = 0; member < n; member++) {
+                for (Vote vote : members.get(member).drain(heights[member])) {
+                    for (int receiver = 0; receiver < n; receiver++) {
+                        if (heights[receiver] == vote.height() && counted.get(receiver).add(vote.voter())
+                                && counted.get(receiver).size() == quorum)
+                            heights[receiver]++;
+                    }
+                }
+            }
+
+            assertThat(heights).containsOnly(2L);
+        }
+    }
+
+    private record Vote(int voter, long height) {
+    }
+}
@@ -0,0 +1,75 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("AccountLaneMemoryPool tests")
+@Tag("AccountLaneMemoryPool")
+public class AccountLaneMemoryPoolTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("AccountLaneMemoryPool reserve()")
+    @Tag("reserve")
+    class Reserve {
+
+        @Test
+        @DisplayName("reserve() takes transactions of a sender by timestamp")
+        void reserveByTimestamp() {
+            AccountLaneMemoryPool memoryPool = new AccountLaneMemoryPool();
+            TendermintTransaction late = tx("alice", 5L);
+            TendermintTransaction early = tx("alice", 1L);
+            memoryPool.add(late);
+            memoryPool.add(early);
+
+            assertThat(memoryPool.reserve(1, tx -> true)).containsExactly(early);
+            assertThat(memoryPool.reserve(1, tx -> true)).containsExactly(late);
+        }
+
+        @Test
+        @DisplayName("reserve() fills blocks fairly between senders")
+        void reserveFairlyBetweenSenders() {
+            AccountLaneMemoryPool memoryPool = new AccountLaneMemoryPool();
+            for (long i = 1; i <= 10; i++) {
+                memoryPool.add(tx("alice", i));
+            }
+            TendermintTransaction bobTx = tx("bob", 20L);
+            memoryPool.add(bobTx);
+
+            Set<TendermintTransaction> reserved = memoryPool.reserve(2, tx -> true);
+
+            assertThat(reserved).hasSize(2).contains(bobTx);
+            assertThat(memoryPool.readySenderCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("reserved transactions not committed come back in their lane")
+        void notCommittedTxComeBack() {
+            AccountLaneMemoryPool memoryPool = new AccountLaneMemoryPool();
+            TendermintTransaction first = tx("alice", 1L);
+            TendermintTransaction second = tx("alice", 2L);
+            memoryPool.add(first);
+            memoryPool.add(second);
+            memoryPool.reserve(1, tx -> true);
+
+            memoryPool.commit(Set.of());
+
+            assertThat(memoryPool.reserved()).isEmpty();
+            assertThat(memoryPool.reserve(2, tx -> true)).containsExactlyInAnyOrder(first, second);
+        }
+    }
+
+    private static TendermintTransaction tx(String sender, long timestamp) {
+        return new TendermintMoneyTx(timestamp, sender, "receiver", 10L, 1L);
+    }
+}
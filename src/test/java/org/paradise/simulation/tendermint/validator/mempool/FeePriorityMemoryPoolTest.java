@@ -0,0 +1,139 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("FeePriorityMemoryPool tests")
+@Tag("FeePriorityMemoryPool")
+public class FeePriorityMemoryPoolTest {
+
+    // Constants.
+
+    private static final long MAX_BYTES = 1_000_000L;
+
+    // Tests.
+
+    @Nested
+    @DisplayName("FeePriorityMemoryPool reserve()")
+    @Tag("reserve")
+    class Reserve {
+
+        @Test
+        @DisplayName("reserve() takes transactions by decreasing fees then by arrival order")
+        void reserveByDecreasingFees() {
+            FeePriorityMemoryPool memoryPool = new FeePriorityMemoryPool(10, MAX_BYTES);
+            TendermintTransaction cheap = tx(1L, 1L);
+            TendermintTransaction expensive = tx(2L, 9L);
+            TendermintTransaction newerMedium = tx(3L, 5L);
+            TendermintTransaction olderMedium = tx(4L, 5L);
+            memoryPool.add(cheap);
+            memoryPool.add(olderMedium);
+            memoryPool.add(expensive);
+            memoryPool.add(newerMedium);
+
+            assertThat(memoryPool.reserve(1, tx -> true)).containsExactly(expensive);
+            assertThat(memoryPool.reserve(1, tx -> true)).containsExactly(olderMedium);
+            assertThat(memoryPool.reserve(1, tx -> true)).containsExactly(newerMedium);
+            assertThat(memoryPool.reserved()).containsExactlyInAnyOrder(expensive, olderMedium, newerMedium);
+            assertThat(memoryPool.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("reserve() drops invalid transactions")
+        void reserveDropsInvalidTx() {
+            FeePriorityMemoryPool memoryPool = new FeePriorityMemoryPool(10, MAX_BYTES);
+            TendermintTransaction invalid = tx(1L, 9L);
+            TendermintTransaction valid = tx(2L, 1L);
+            memoryPool.add(invalid);
+            memoryPool.add(valid);
+
+            assertThat(memoryPool.reserve(2, tx -> !tx.equals(invalid))).containsExactly(valid);
+            assertThat(memoryPool.contains(invalid)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("FeePriorityMemoryPool add()")
+    @Tag("add")
+    class Add {
+
+        @Test
+        @DisplayName("add() evicts the cheapest transaction when the memory pool is full")
+        void addEvictsCheapestTx() {
+            FeePriorityMemoryPool memoryPool = new FeePriorityMemoryPool(2, MAX_BYTES);
+            TendermintTransaction cheap = tx(1L, 1L);
+            TendermintTransaction medium = tx(2L, 5L);
+            TendermintTransaction expensive = tx(3L, 9L);
+            memoryPool.add(cheap);
+            memoryPool.add(medium);
+
+            assertThat(memoryPool.add(expensive)).isTrue();
+            assertThat(memoryPool.contains(cheap)).isFalse();
+            assertThat(memoryPool.size()).isEqualTo(2);
+            assertThat(memoryPool.evictedCount()).isEqualTo(1L);
+            assertThat(memoryPool.refusedCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("add() refuses a transaction cheaper than all others when the memory pool is full")
+        void addRefusesCheapestTx() {
+            FeePriorityMemoryPool memoryPool = new FeePriorityMemoryPool(2, MAX_BYTES);
+            memoryPool.add(tx(1L, 5L));
+            memoryPool.add(tx(2L, 5L));
+
+            assertThat(memoryPool.add(tx(3L, 5L))).isFalse();
+            assertThat(memoryPool.size()).isEqualTo(2);
+            assertThat(memoryPool.evictedCount()).isZero();
+            assertThat(memoryPool.refusedCount()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("add() evicts cheapest transactions until the estimated size fits")
+        void addEvictsUntilSizeFits() {
+            TendermintTransaction expensive = tx(3L, 9L);
+            FeePriorityMemoryPool memoryPool = new FeePriorityMemoryPool(10, 2L * expensive.estimatedSize());
+            memoryPool.add(tx(1L, 1L));
+            memoryPool.add(tx(2L, 2L));
+
+            assertThat(memoryPool.add(expensive)).isTrue();
+            assertThat(memoryPool.size()).isEqualTo(2);
+            assertThat(memoryPool.evictedCount()).isEqualTo(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("FeePriorityMemoryPool commit()")
+    @Tag("commit")
+    class Commit {
+
+        @Test
+        @DisplayName("commit() removes committed transactions and gives back the others")
+        void commitGivesBackNotCommittedTx() {
+            FeePriorityMemoryPool memoryPool = new FeePriorityMemoryPool(10, MAX_BYTES);
+            TendermintTransaction committed = tx(1L, 9L);
+            TendermintTransaction notCommitted = tx(2L, 5L);
+            memoryPool.add(committed);
+            memoryPool.add(notCommitted);
+            memoryPool.reserve(2, tx -> true);
+
+            memoryPool.commit(Set.of(committed));
+
+            assertThat(memoryPool.reserved()).isEmpty();
+            assertThat(memoryPool.contains(committed)).isFalse();
+            assertThat(memoryPool.reserve(2, tx -> true)).containsExactly(notCommitted);
+        }
+    }
+
+    private static TendermintTransaction tx(long timestamp, long fees) {
+        return new TendermintMoneyTx(timestamp, "sender", "receiver", 10L, fees);
+    }
+}
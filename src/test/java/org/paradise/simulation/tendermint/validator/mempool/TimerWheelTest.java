@@ -0,0 +1,96 @@
+package org.paradise.simulation.tendermint.validator.mempool;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("TimerWheel tests")
+@Tag("TimerWheel")
+public class TimerWheelTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("TimerWheel schedule()")
+    @Tag("schedule")
+    class Schedule {
+
+        @Test
+        @DisplayName("schedule() rounds the deadline up to the next tick")
+        void deadlineRoundedUpToNextTick() {
+            TimerWheel<String> wheel = new TimerWheel<>(8, 10L, 0L);
+            wheel.schedule("a", 11L);
+
+            assertThat(expired(wheel, 19L)).isEmpty();
+            assertThat(expired(wheel, 20L)).containsExactly("a");
+            assertThat(wheel.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("schedule() again replaces the previous deadline")
+        void rescheduleReplacesDeadline() {
+            TimerWheel<String> wheel = new TimerWheel<>(8, 10L, 0L);
+            wheel.schedule("a", 10L);
+            wheel.schedule("a", 50L);
+
+            assertThat(wheel.size()).isEqualTo(1);
+            assertThat(expired(wheel, 40L)).isEmpty();
+            assertThat(expired(wheel, 50L)).containsExactly("a");
+        }
+
+        @Test
+        @DisplayName("cancel() removes the deadline of the item")
+        void cancelledItemNeverExpires() {
+            TimerWheel<String> wheel = new TimerWheel<>(8, 10L, 0L);
+            wheel.schedule("a", 10L);
+
+            assertThat(wheel.cancel("a")).isTrue();
+            assertThat(wheel.cancel("a")).isFalse();
+            assertThat(expired(wheel, 100L)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("TimerWheel advance()")
+    @Tag("advance")
+    class Advance {
+
+        @Test
+        @DisplayName("advance() over more than one rotation expires all passed items")
+        void advanceOverSeveralRotations() {
+            TimerWheel<String> wheel = new TimerWheel<>(4, 10L, 0L);
+            wheel.schedule("a", 10L);
+            wheel.schedule("b", 30L);
+            wheel.schedule("c", 70L);
+
+            assertThat(expired(wheel, 1000L)).containsExactlyInAnyOrder("a", "b", "c");
+        }
+
+        @Test
+        @DisplayName("items due on a later lap stay in their slot")
+        void laterLapItemsStay() {
+            TimerWheel<String> wheel = new TimerWheel<>(4, 10L, 0L);
+            wheel.schedule("now", 10L);
+            // Same slot as "now", one rotation later.
+            wheel.schedule("later", 50L);
+
+            assertThat(expired(wheel, 10L)).containsExactly("now");
+            assertThat(wheel.size()).isEqualTo(1);
+            assertThat(expired(wheel, 40L)).isEmpty();
+            assertThat(expired(wheel, 50L)).containsExactly("later");
+        }
+    }
+
+    private static List<String> expired(TimerWheel<String> wheel, long now) {
+        List<String> expired = Lists.newArrayList();
+        wheel.advance(now, expired::add);
+        return expired;
+    }
+}
@@ -0,0 +1,90 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("CommitteeCache tests")
+@Tag("CommitteeCache")
+public class CommitteeCacheTest {
+
+    // Constants.
+
+    private static final int NB_NODE = 30;
+    private static final int COMMITTEE_SIZE = 7;
+
+    // Tests.
+
+    @AfterEach
+    void clearCache() {
+        CommitteeCache.instance().clear();
+    }
+
+    @Nested
+    @DisplayName("CommitteeCache committee()")
+    @Tag("committee")
+    class Committee {
+
+        @Test
+        @DisplayName("committee() returns the cached committee for an other PoS state with the same nodes")
+        void sameStateSharesCommittee() {
+            ProofOfStakeState posState = generatePoSState(false);
+            ProofOfStakeState otherPoSState = generatePoSState(true);
+            CommitteeCache cache = CommitteeCache.instance();
+
+            Set<String> committee = cache.committee(1L, posState, COMMITTEE_SIZE, FenwickCommitteeSelector.instance());
+
+            assertThat(otherPoSState.getVersion()).isEqualTo(posState.getVersion());
+            assertThat(cache.committee(1L, otherPoSState, COMMITTEE_SIZE, FenwickCommitteeSelector.instance())).isSameAs(committee);
+            assertThat(cache.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("committee() selects a new committee if the PoS state is different")
+        void differentStateMissesCache() {
+            ProofOfStakeState posState = generatePoSState(false);
+            ProofOfStakeState otherPoSState = generatePoSState(false);
+            otherPoSState.removeWeight("address0", 1L);
+            CommitteeCache cache = CommitteeCache.instance();
+
+            cache.committee(1L, posState, COMMITTEE_SIZE, FenwickCommitteeSelector.instance());
+            cache.committee(1L, otherPoSState, COMMITTEE_SIZE, FenwickCommitteeSelector.instance());
+
+            assertThat(otherPoSState.getVersion()).isNotEqualTo(posState.getVersion());
+            assertThat(cache.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("committee() does not share committees between addresses with the same String hash code")
+        void sameStringHashCodeMissesCache() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("Aa", 10L);
+            ProofOfStakeState otherPoSState = new ProofOfStakeState();
+            otherPoSState.addWeight("BB", 10L);
+            CommitteeCache cache = CommitteeCache.instance();
+
+            Set<String> committee = cache.committee(1L, posState, 1, FenwickCommitteeSelector.instance());
+
+            assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+            assertThat(otherPoSState.getVersion()).isNotEqualTo(posState.getVersion());
+            assertThat(cache.committee(1L, otherPoSState, 1, FenwickCommitteeSelector.instance())).isNotEqualTo(committee);
+        }
+    }
+
+    private ProofOfStakeState generatePoSState(boolean reversed) {
+        ProofOfStakeState posState = new ProofOfStakeState();
+        for (int i = 0; i < NB_NODE; i++) {
+            int node = reversed ? NB_NODE - 1 - i : i;
+            posState.addWeight("address" + node, 100L + node);
+        }
+
+        return posState;
+    }
+}
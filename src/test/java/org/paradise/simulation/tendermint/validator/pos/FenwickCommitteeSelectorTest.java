@@ -0,0 +1,90 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("FenwickCommitteeSelector tests")
+@Tag("FenwickCommitteeSelector")
+public class FenwickCommitteeSelectorTest {
+
+    // Constants.
+
+    private static final int NB_NODE = 75;
+    private static final int COMMITTEE_SIZE = 15;
+
+    // Tests.
+
+    @Nested
+    @DisplayName("FenwickCommitteeSelector selectCommittee()")
+    @Tag("selectCommittee")
+    class SelectCommittee {
+
+        @Test
+        @DisplayName("selectCommittee() returns all agents if committee size is same as agents set")
+        void committeeSizeEqualsToAgentSet() {
+            ProofOfStakeState posState = generatePoSState(NB_NODE);
+            FenwickCommitteeSelector cSelector = FenwickCommitteeSelector.instance();
+
+            assertThat(cSelector.selectCommittee(posState, NB_NODE, new Random())).isNotNull().hasSize(NB_NODE);
+        }
+
+        @Test
+        @DisplayName("selectCommittee() creates a committee with the specified size")
+        void committeeCreateHasCorrectSize() {
+            ProofOfStakeState posState = generatePoSState(10_000);
+            FenwickCommitteeSelector cSelector = FenwickCommitteeSelector.instance();
+
+            assertThat(cSelector.selectCommittee(posState, 100, new Random())).isNotNull().hasSize(100);
+        }
+
+        @Test
+        @DisplayName("selectCommittee() returns same committee with RandomGenerator which has the same seed")
+        void committeeWithSameSeed() {
+            ProofOfStakeState posState = generatePoSState(NB_NODE);
+            FenwickCommitteeSelector cSelector = FenwickCommitteeSelector.instance();
+
+            long seed = new Random().nextLong();
+            Set<String> first = cSelector.selectCommittee(posState, COMMITTEE_SIZE, new Random(seed));
+            for (int i = 0; i < 5; i++) {
+                assertThat(cSelector.selectCommittee(posState, COMMITTEE_SIZE, new Random(seed))).isEqualTo(first);
+            }
+        }
+
+        @Test
+        @DisplayName("selectCommittee() selects nodes proportionally to their weight")
+        void committeeIsStakeWeighted() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("heavy", 1_000_000L);
+            for (int i = 0; i < NB_NODE; i++) {
+                posState.addWeight("light" + i, 1L);
+            }
+            FenwickCommitteeSelector cSelector = FenwickCommitteeSelector.instance();
+
+            int heavySelected = 0;
+            for (int i = 0; i < 100; i++) {
+                if (cSelector.selectCommittee(posState, 1, new Random(i)).contains("heavy"))
+                    heavySelected++;
+            }
+
+            assertThat(heavySelected).isGreaterThanOrEqualTo(95);
+        }
+    }
+
+    private ProofOfStakeState generatePoSState(int nbNode) {
+        ProofOfStakeState posState = new ProofOfStakeState();
+        Random random = new Random();
+        for (int i = 0; i < nbNode; i++) {
+            posState.addWeight("address" + i, random.nextLong(1L, 3000L));
+        }
+
+        return posState;
+    }
+}
@@ -0,0 +1,91 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("ProofOfStakeCheckpoints tests")
+@Tag("ProofOfStakeCheckpoints")
+public class ProofOfStakeCheckpointsTest {
+
+    // Tests.
+
+    @AfterEach
+    void clearCheckpoints() {
+        ProofOfStakeCheckpoints.instance().clear();
+    }
+
+    @Nested
+    @DisplayName("ProofOfStakeCheckpoints nearest()")
+    @Tag("nearest")
+    class Nearest {
+
+        @Test
+        @DisplayName("nearest() returns the highest checkpoint which matches the block hash")
+        void nearestMatchesBlockHash() {
+            ProofOfStakeCheckpoints checkpoints = ProofOfStakeCheckpoints.instance();
+            checkpoints.save(10L, "hash10", posState(10L).snapshot(), new StakeLedger(), null);
+            checkpoints.save(20L, "otherHash20", posState(20L).snapshot(), new StakeLedger(), null);
+            checkpoints.save(30L, "hash30", posState(30L).snapshot(), new StakeLedger(), null);
+
+            ProofOfStakeCheckpoints.Checkpoint checkpoint = checkpoints.nearest(25L, h -> "hash" + h, null);
+
+            assertThat(checkpoint).isNotNull();
+            assertThat(checkpoint.height()).isEqualTo(10L);
+            assertThat(checkpoint.snapshot().getTotalWeight()).isEqualTo(10L);
+            assertThat(checkpoints.nearest(5L, h -> "hash" + h, null)).isNull();
+        }
+
+        @Test
+        @DisplayName("nearest() does not find checkpoints dropped from the memory")
+        void oldCheckpointsAreDropped() {
+            ProofOfStakeCheckpoints checkpoints = ProofOfStakeCheckpoints.instance();
+            for (long h = 1; h <= ProofOfStakeCheckpoints.MAX_HEIGHTS_IN_MEMORY + 1; h++) {
+                checkpoints.save(h, "hash" + h, posState(10L).snapshot(), new StakeLedger(), null);
+            }
+
+            assertThat(checkpoints.nearest(1L, h -> "hash" + h, null)).isNull();
+            assertThat(checkpoints.nearest(2L, h -> "hash" + h, null)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("nearest() reads checkpoints written on disk")
+        void nearestReadsDisk(@TempDir Path directory) {
+            ProofOfStakeCheckpoints checkpoints = ProofOfStakeCheckpoints.instance();
+            ProofOfStakeState posState = posState(10L);
+            StakeLedger ledger = new StakeLedger();
+            ledger.lock("a", 5L, 40L);
+            ledger.lock("b", 1L, 5L);
+            ledger.expireUntil(10L);
+            checkpoints.save(10L, "ha/sh+10", posState.snapshot(), ledger, directory);
+            checkpoints.clear();
+
+            ProofOfStakeCheckpoints.Checkpoint checkpoint = checkpoints.nearest(15L, h -> "ha/sh+" + h, directory);
+
+            assertThat(checkpoint).isNotNull();
+            assertThat(checkpoint.height()).isEqualTo(10L);
+            assertThat(checkpoint.snapshot().getVersion()).isEqualTo(posState.getVersion());
+
+            ProofOfStakeState restored = new ProofOfStakeState();
+            restored.restore(checkpoint.snapshot());
+            assertThat(restored.getNode("b")).isEqualTo(posState.getNode("b"));
+            assertThat(checkpoint.ledger().lockCount()).isEqualTo(1);
+            assertThat(checkpoint.ledger().unlockableAmount("b")).isEqualTo(1L);
+        }
+    }
+
+    private ProofOfStakeState posState(long totalWeight) {
+        ProofOfStakeState posState = new ProofOfStakeState();
+        posState.addWeight("a", totalWeight - 1L);
+        posState.addWeight("b", 1L);
+        return posState;
+    }
+}
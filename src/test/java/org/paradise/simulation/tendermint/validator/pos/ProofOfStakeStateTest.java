@@ -0,0 +1,64 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("ProofOfStakeState tests")
+@Tag("ProofOfStakeState")
+public class ProofOfStakeStateTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("ProofOfStakeState snapshot()")
+    @Tag("snapshot")
+    class SnapshotMethod {
+
+        @Test
+        @DisplayName("snapshot() returns nodes sorted by address with their prefix weights")
+        void snapshotIsSorted() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("c", 3L);
+            posState.addWeight("a", 1L);
+            posState.addWeight("b", 2L);
+            posState.addWeight("a", 4L);
+
+            ProofOfStakeState.Snapshot snapshot = posState.snapshot();
+
+            assertThat(snapshot.size()).isEqualTo(3);
+            assertThat(snapshot.address(0)).isEqualTo("a");
+            assertThat(snapshot.address(1)).isEqualTo("b");
+            assertThat(snapshot.address(2)).isEqualTo("c");
+            assertThat(snapshot.prefixWeight(1)).isEqualTo(5L);
+            assertThat(snapshot.prefixWeight(3)).isEqualTo(10L).isEqualTo(snapshot.getTotalWeight());
+            assertThat(snapshot.indexOf(4L)).isZero();
+            assertThat(snapshot.indexOf(5L)).isEqualTo(1);
+            assertThat(snapshot.indexOf(9L)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("snapshot() is not modified by later changes of the state")
+        void snapshotIsImmutable() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("a", 1L);
+            posState.addWeight("b", 2L);
+            ProofOfStakeState.Snapshot snapshot = posState.snapshot();
+
+            posState.addWeight("a", 10L);
+            posState.removeWeight("b", 2L);
+            posState.addWeight("c", 5L);
+
+            assertThat(snapshot.size()).isEqualTo(2);
+            assertThat(snapshot.weight(0)).isEqualTo(1L);
+            assertThat(snapshot.weight(1)).isEqualTo(2L);
+            assertThat(snapshot.getTotalWeight()).isEqualTo(3L);
+            assertThat(posState.snapshot()).isNotSameAs(snapshot);
+            assertThat(posState.snapshot().getTotalWeight()).isEqualTo(16L);
+        }
+    }
+}
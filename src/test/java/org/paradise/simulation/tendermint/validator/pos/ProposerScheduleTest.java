@@ -0,0 +1,116 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("ProposerSchedule tests")
+@Tag("ProposerSchedule")
+public class ProposerScheduleTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("ProposerSchedule proposer()")
+    @Tag("proposer")
+    class Proposer {
+
+        @Test
+        @DisplayName("proposer() gives each member a number of rounds proportional to its weight")
+        void proposerProportionalToWeight() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("a", 1L);
+            posState.addWeight("b", 2L);
+            posState.addWeight("c", 7L);
+            ProposerSchedule schedule = new ProposerSchedule(posState, Set.of("a", "b", "c"));
+
+            Map<String, Integer> nbProposal = Maps.newHashMap();
+            for (int r = 0; r < 100; r++) {
+                nbProposal.merge(schedule.proposer(r), 1, Integer::sum);
+            }
+
+            assertThat(nbProposal).containsEntry("a", 10).containsEntry("b", 20).containsEntry("c", 70);
+        }
+
+        @Test
+        @DisplayName("proposer() does not depend on the committee set iteration order")
+        void proposerIndependentOfSetOrder() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("a", 5L);
+            posState.addWeight("b", 5L);
+            posState.addWeight("c", 5L);
+            ProposerSchedule first = new ProposerSchedule(posState, Sets.newLinkedHashSet(List.of("a", "b", "c")));
+            ProposerSchedule second = new ProposerSchedule(posState, Sets.newLinkedHashSet(List.of("c", "b", "a")));
+
+            for (int r = 0; r < 10; r++) {
+                assertThat(first.proposer(r)).isEqualTo(second.proposer(r));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("ProposerSchedule next()")
+    @Tag("next")
+    class Next {
+
+        @Test
+        @DisplayName("next() does not depend on the number of rounds computed")
+        void nextIndependentOfComputedRounds() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("a", 3L);
+            posState.addWeight("b", 4L);
+            posState.addWeight("c", 5L);
+            Set<String> committee = Set.of("a", "b", "c");
+            ProposerSchedule first = new ProposerSchedule(posState, committee);
+            ProposerSchedule second = new ProposerSchedule(posState, committee);
+            second.proposer(15);
+
+            ProposerSchedule firstNext = first.next(posState, committee);
+            ProposerSchedule secondNext = second.next(posState, committee);
+
+            for (int r = 0; r < 10; r++) {
+                assertThat(firstNext.proposer(r)).isEqualTo(secondNext.proposer(r));
+            }
+        }
+
+        @Test
+        @DisplayName("next() rotates the first proposer between heights")
+        void nextRotatesFirstProposer() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("a", 1L);
+            posState.addWeight("b", 1L);
+            Set<String> committee = Set.of("a", "b");
+            ProposerSchedule schedule = new ProposerSchedule(posState, committee);
+
+            assertThat(schedule.next(posState, committee).proposer(0)).isNotEqualTo(schedule.proposer(0));
+        }
+
+        @Test
+        @DisplayName("next() without PoS state keeps the weights of the current schedule")
+        void nextKeepsWeights() {
+            ProofOfStakeState posState = new ProofOfStakeState();
+            posState.addWeight("a", 3L);
+            posState.addWeight("b", 4L);
+            Set<String> committee = Set.of("a", "b");
+            ProposerSchedule schedule = new ProposerSchedule(posState, committee);
+            ProposerSchedule expected = schedule.next(posState, committee);
+            posState.addWeight("a", 100L);
+
+            ProposerSchedule next = schedule.next();
+
+            for (int r = 0; r < 10; r++) {
+                assertThat(next.proposer(r)).isEqualTo(expected.proposer(r));
+            }
+        }
+    }
+}
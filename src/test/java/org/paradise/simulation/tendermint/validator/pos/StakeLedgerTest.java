@@ -0,0 +1,50 @@
+package org.paradise.simulation.tendermint.validator.pos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("StakeLedger tests")
+@Tag("StakeLedger")
+public class StakeLedgerTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("StakeLedger unlock()")
+    @Tag("unlock")
+    class Unlock {
+
+        @Test
+        @DisplayName("unlock() does not unlock stake before its lock expires")
+        void unlockBeforeExpiry() {
+            StakeLedger ledger = new StakeLedger();
+            ledger.lock("a", 10L, 20L);
+            ledger.expireUntil(19L);
+
+            assertThat(ledger.unlock("a", 10L)).isZero();
+            assertThat(ledger.lockCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("unlock() unlocks at most the stake whose lock has expired")
+        void unlockAfterExpiry() {
+            StakeLedger ledger = new StakeLedger();
+            ledger.lock("a", 10L, 20L);
+            ledger.lock("a", 5L, 30L);
+            ledger.lock("b", 7L, 15L);
+
+            assertThat(ledger.expireUntil(20L)).isEqualTo(2);
+            assertThat(ledger.unlock("a", 12L)).isEqualTo(10L);
+            assertThat(ledger.unlock("b", 3L)).isEqualTo(3L);
+            assertThat(ledger.unlockableAmount("b")).isEqualTo(4L);
+
+            ledger.expireUntil(30L);
+            assertThat(ledger.unlockableAmount("a")).isEqualTo(5L);
+        }
+    }
+}
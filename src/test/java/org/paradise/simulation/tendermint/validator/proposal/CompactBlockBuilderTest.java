@@ -0,0 +1,110 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
+import org.paradise.simulation.tendermint.validator.ValueId;
+import org.paradise.simulation.tendermint.validator.mempool.FifoMemoryPool;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Nested
+@DisplayName("CompactBlockBuilder tests")
+@Tag("CompactBlockBuilder")
+public class CompactBlockBuilderTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("CompactBlockBuilder add()")
+    @Tag("add")
+    class Add {
+
+        @Test
+        @DisplayName("transactions of the memory pool are found, only the others are missing")
+        void missingTxAreNotInMemoryPool() {
+            TendermintTransaction known = tx("alice", 1L);
+            TendermintTransaction unknown = tx("bob", 2L);
+            FifoMemoryPool memoryPool = new FifoMemoryPool();
+            memoryPool.add(known);
+
+            CompactBlockBuilder builder = new CompactBlockBuilder(compactBlock(known, unknown), memoryPool::find);
+
+            assertThat(builder.missingTxHashes()).containsExactly(unknown.sha256Base64Hash());
+            assertThat(builder.isComplete()).isFalse();
+            assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("add() only accepts missing transactions and completes the block")
+        void addMissingTx() {
+            TendermintTransaction first = tx("alice", 1L);
+            TendermintTransaction second = tx("bob", 2L);
+            CompactBlockBuilder builder = new CompactBlockBuilder(compactBlock(first, second), txHash -> null);
+
+            assertThat(builder.add(tx("carol", 3L))).isFalse();
+            assertThat(builder.add(first)).isTrue();
+            assertThat(builder.add(first)).isFalse();
+            assertThat(builder.add(second)).isTrue();
+            assertThat(builder.isComplete()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("CompactBlockBuilder build()")
+    @Tag("build")
+    class Build {
+
+        @Test
+        @DisplayName("build() rebuilds the block with the id of the original block")
+        void rebuildMatchesId() {
+            IdentifiedBlock original = block(tx("alice", 1L), tx("bob", 2L), tx("carol", 3L));
+            FifoMemoryPool memoryPool = new FifoMemoryPool();
+            original.getBlock().getTransactions().forEach(memoryPool::add);
+
+            IdentifiedBlock rebuilt = new CompactBlockBuilder(CompactBlock.of(original), memoryPool::find).build();
+
+            assertThat(rebuilt).isNotNull();
+            assertThat(rebuilt.getId()).isEqualTo(original.getId());
+            assertThat(rebuilt.getBlock().getTransactions()).containsExactlyElementsOf(original.getBlock().getTransactions());
+        }
+
+        @Test
+        @DisplayName("build() returns null if the rebuilt block does not have the announced id")
+        void mismatchReturnsNull() {
+            TendermintTransaction tx = tx("alice", 1L);
+            IdentifiedBlock original = block(tx);
+            IdentifiedBlock other = block(tx("bob", 2L));
+            CompactBlock compactBlock = CompactBlock.of(original);
+            CompactBlock wrongId = new CompactBlock(compactBlock.height(), compactBlock.timestamp(), compactBlock.previous(),
+                                                    compactBlock.txHashes(), other.getId());
+
+            assertThat(new CompactBlockBuilder(wrongId, txHash -> tx).build()).isNull();
+        }
+    }
+
+    private static IdentifiedBlock block(TendermintTransaction... txs) {
+        Set<TendermintTransaction> transactions = Sets.newLinkedHashSet(Arrays.asList(txs));
+        return new IdentifiedBlock(new Block<>(1L, 1L, "previous", transactions));
+    }
+
+    private static CompactBlock compactBlock(TendermintTransaction... txs) {
+        List<String> txHashes = Arrays.stream(txs).map(TendermintTransaction::sha256Base64Hash).toList();
+        return new CompactBlock(1L, 1L, "previous", txHashes, ValueId.of(new byte[ValueId.BYTES]));
+    }
+
+    private static TendermintTransaction tx(String sender, long timestamp) {
+        return new TendermintMoneyTx(timestamp, sender, "receiver", 10L, 1L);
+    }
+}
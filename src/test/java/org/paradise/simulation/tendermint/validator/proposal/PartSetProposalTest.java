@@ -0,0 +1,78 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
+import org.paradise.simulation.tendermint.validator.IdentifiedBlock;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("PartSetProposal tests")
+@Tag("PartSetProposal")
+public class PartSetProposalTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("PartSetProposal rebuild()")
+    @Tag("rebuild")
+    class Rebuild {
+
+        @Test
+        @DisplayName("rebuild() returns the proposed block when the part set matches the header and the id")
+        void rebuildMatches() {
+            IdentifiedBlock block = block(tx(1L), tx(2L), tx(3L));
+            PartSet partSet = PartSet.of(block, 2);
+
+            IdentifiedBlock rebuilt = PartSetProposal.of(block, partSet.header()).rebuild(received(partSet));
+
+            assertThat(rebuilt).isNotNull();
+            assertThat(rebuilt.getId()).isEqualTo(block.getId());
+        }
+
+        @Test
+        @DisplayName("rebuild() returns null when the part set root is not the one of the proposal")
+        void mismatchedRoot() {
+            IdentifiedBlock block = block(tx(1L), tx(2L), tx(3L));
+            PartSet other = PartSet.of(block(tx(1L), tx(2L), tx(9L)), 2);
+
+            assertThat(PartSetProposal.of(block, PartSet.of(block, 2).header()).rebuild(received(other))).isNull();
+        }
+
+        @Test
+        @DisplayName("rebuild() returns null when the rebuilt block does not have the proposal id")
+        void mismatchedId() {
+            IdentifiedBlock block = block(tx(1L), tx(2L), tx(3L));
+            IdentifiedBlock other = block(tx(1L), tx(2L), tx(9L));
+            PartSet partSet = PartSet.of(block, 2);
+
+            assertThat(PartSetProposal.of(other, partSet.header()).rebuild(received(partSet))).isNull();
+        }
+    }
+
+    private static PartSet received(PartSet sent) {
+        PartSet received = new PartSet(sent.header());
+        for (int i = 0; i < sent.total(); i++) {
+            received.add(sent.part(i));
+        }
+        return received;
+    }
+
+    private static IdentifiedBlock block(TendermintTransaction... txs) {
+        Set<TendermintTransaction> transactions = Sets.newLinkedHashSet(Arrays.asList(txs));
+        return new IdentifiedBlock(new Block<>(1L, 1L, "previous", transactions));
+    }
+
+    private static TendermintTransaction tx(long timestamp) {
+        return new TendermintMoneyTx(timestamp, "alice", "receiver", 10L, 1L);
+    }
+}
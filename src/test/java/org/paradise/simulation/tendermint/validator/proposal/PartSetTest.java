@@ -0,0 +1,86 @@
+package org.paradise.simulation.tendermint.validator.proposal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.simulation.tendermint.transaction.TendermintTransaction;
+import org.paradise.simulation.tendermint.transaction.money.TendermintMoneyTx;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("PartSet tests")
+@Tag("PartSet")
+public class PartSetTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("PartSet add()")
+    @Tag("add")
+    class Add {
+
+        @Test
+        @DisplayName("parts received in any order rebuild the same header and transactions")
+        void partsInAnyOrder() {
+            List<TendermintTransaction> txs = List.of(tx(1L), tx(2L), tx(3L), tx(4L), tx(5L));
+            PartSet sent = PartSet.of(txs, 2);
+            PartSet received = new PartSet(sent.header());
+
+            for (int i = sent.total() - 1; i >= 0; i--) {
+                assertThat(received.isComplete()).isFalse();
+                assertThat(received.add(sent.part(i))).isTrue();
+            }
+
+            assertThat(sent.total()).isEqualTo(3);
+            assertThat(received.isComplete()).isTrue();
+            assertThat(received.header()).isEqualTo(sent.header());
+            assertThat(received.transactions()).containsExactlyElementsOf(txs);
+        }
+
+        @Test
+        @DisplayName("add() refuses known parts and parts of a part set of another size")
+        void refuseKnownAndForeignParts() {
+            PartSet sent = PartSet.of(List.of(tx(1L), tx(2L), tx(3L)), 2);
+            PartSet received = new PartSet(sent.header());
+
+            assertThat(received.add(sent.part(0))).isTrue();
+            assertThat(received.add(sent.part(0))).isFalse();
+            assertThat(received.add(PartSet.of(List.of(tx(1L), tx(2L), tx(3L), tx(4L), tx(5L)), 2).part(1))).isFalse();
+            assertThat(received.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("add() refuses a forged part and still accepts the right one for the same index")
+        void refuseForgedPart() {
+            PartSet sent = PartSet.of(List.of(tx(1L), tx(2L), tx(3L)), 2);
+            PartSet forged = PartSet.of(List.of(tx(1L), tx(2L), tx(9L)), 2);
+            PartSet received = new PartSet(sent.header());
+
+            assertThat(received.add(forged.part(1))).isFalse();
+            assertThat(received.add(new BlockPart(1, sent.total(), List.of(tx(9L)), sent.part(1).proof()))).isFalse();
+            assertThat(received.add(sent.part(1))).isTrue();
+            assertThat(received.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("each part of an odd sized part set verifies against the root")
+        void proofsOfOddSizedPartSet() {
+            List<TendermintTransaction> txs = List.of(tx(1L), tx(2L), tx(3L), tx(4L), tx(5L), tx(6L), tx(7L));
+            PartSet sent = PartSet.of(txs, 1);
+
+            for (int i = 0; i < sent.total(); i++) {
+                assertThat(sent.part(i).verify(sent.header())).isTrue();
+            }
+            assertThat(sent.isComplete()).isTrue();
+            assertThat(sent.transactions()).containsExactlyElementsOf(txs);
+        }
+    }
+
+    private static TendermintTransaction tx(long timestamp) {
+        return new TendermintMoneyTx(timestamp, "alice", "receiver", 10L, 1L);
+    }
+}
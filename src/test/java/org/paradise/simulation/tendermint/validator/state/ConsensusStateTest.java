@@ -0,0 +1,65 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.simulation.tendermint.validator.ValueId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("ConsensusState tests")
+@Tag("ConsensusState")
+public class ConsensusStateTest {
+
+    // Constants.
+
+    private static final ValueId VALUE = ValueId.of(new byte[ValueId.BYTES]);
+
+    // Tests.
+
+    @Nested
+    @DisplayName("ConsensusState addPrevote()")
+    @Tag("addPrevote")
+    class AddPrevote {
+
+        @Test
+        @DisplayName("addPrevote() counts only one prevote per sender and per stage")
+        void oneVotePerSender() {
+            ConsensusState consensusState = new ConsensusState();
+
+            assertThat(consensusState.addPrevote(1L, 0L, 0, VALUE)).isTrue();
+            assertThat(consensusState.addPrevote(1L, 0L, 0, ValueId.NIL)).isFalse();
+            assertThat(consensusState.addPrevote(1L, 0L, 65, ValueId.NIL)).isTrue();
+            assertThat(consensusState.addPrevote(1L, 1L, 0, VALUE)).isTrue();
+
+            assertThat(consensusState.prevoteCount(1L, 0L)).isEqualTo(2L);
+            assertThat(consensusState.prevoteCount(1L, 0L, VALUE)).isEqualTo(1L);
+            assertThat(consensusState.prevoteCount(1L, 0L, ValueId.NIL)).isEqualTo(1L);
+            assertThat(consensusState.precommitCount(1L, 0L)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("ConsensusState clearUntil()")
+    @Tag("clearUntil")
+    class ClearUntil {
+
+        @Test
+        @DisplayName("clearUntil() drops all state of passed heights")
+        void clearUntilDropsPassedHeights() {
+            ConsensusState consensusState = new ConsensusState();
+            consensusState.addPrecommit(1L, 0L, 0, VALUE);
+            consensusState.addPrecommit(2L, 0L, 0, VALUE);
+            consensusState.markExecuted(3, 1L, 0L);
+
+            consensusState.clearUntil(1L);
+
+            assertThat(consensusState.heightCount()).isEqualTo(1);
+            assertThat(consensusState.precommitCount(1L, 0L)).isZero();
+            assertThat(consensusState.precommitCount(2L, 0L)).isEqualTo(1L);
+            assertThat(consensusState.markExecuted(3, 1L, 0L)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("LongLongMap tests")
+@Tag("LongLongMap")
+public class LongLongMapTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("LongLongMap addTo()")
+    @Tag("addTo")
+    class AddTo {
+
+        @Test
+        @DisplayName("addTo() counts from 0 for unknown keys")
+        void addToCountsFromZero() {
+            LongLongMap map = new LongLongMap();
+            for (long key = 0L; key < 100L; key++) {
+                map.addTo(key * 1024L, key);
+                map.addTo(key * 1024L, 1L);
+            }
+
+            assertThat(map.size()).isEqualTo(100);
+            assertThat(map.getOrDefault(0L, -1L)).isEqualTo(1L);
+            assertThat(map.getOrDefault(99L * 1024L, -1L)).isEqualTo(100L);
+            assertThat(map.getOrDefault(1L, -1L)).isEqualTo(-1L);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("LongObjectMap tests")
+@Tag("LongObjectMap")
+public class LongObjectMapTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("LongObjectMap put()")
+    @Tag("put")
+    class Put {
+
+        @Test
+        @DisplayName("put() keeps all values when the map grows")
+        void putKeepsValuesWhenGrowing() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            for (long key = -500L; key < 500L; key++) {
+                map.put(key, "v" + key);
+            }
+            map.put(3L, "replaced");
+
+            assertThat(map.size()).isEqualTo(1000);
+            assertThat(map.get(-500L)).isEqualTo("v-500");
+            assertThat(map.get(499L)).isEqualTo("v499");
+            assertThat(map.get(3L)).isEqualTo("replaced");
+            assertThat(map.get(500L)).isNull();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.paradise.simulation.tendermint.validator.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("VoteInbox tests")
+@Tag("VoteInbox")
+public class VoteInboxTest {
+
+    // Tests.
+
+    @Nested
+    @DisplayName("VoteInbox drain()")
+    @Tag("drain")
+    class Drain {
+
+        @Test
+        @DisplayName("drain() keeps the first vote of each (type, h, r, idV) group in the arrival order")
+        void firstVoteOfEachGroup() {
+            VoteInbox<Vote> voteInbox = new VoteInbox<>();
+            Vote first = new Vote("prevote", 1L, 0L, "v", "alice");
+            voteInbox.add(first);
+            voteInbox.add(new Vote("prevote", 1L, 0L, "v", "bob"));
+            Vote otherType = new Vote("precommit", 1L, 0L, "v", "alice");
+            voteInbox.add(otherType);
+            Vote otherRound = new Vote("prevote", 1L, 1L, "v", "alice");
+            voteInbox.add(otherRound);
+            Vote otherValue = new Vote("prevote", 1L, 0L, "w", "carol");
+            voteInbox.add(otherValue);
+
+            assertThat(voteInbox.drain(Vote::group)).containsExactly(first, otherType, otherRound, otherValue);
+            assertThat(voteInbox.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("add() only asks to schedule the drain for the first vote of the inbox")
+        void scheduleOnlyForFirstVote() {
+            VoteInbox<Vote> voteInbox = new VoteInbox<>();
+
+            assertThat(voteInbox.add(new Vote("prevote", 1L, 0L, "v", "alice"))).isTrue();
+            assertThat(voteInbox.add(new Vote("prevote", 1L, 0L, "v", "bob"))).isFalse();
+            voteInbox.clear();
+            assertThat(voteInbox.add(new Vote("prevote", 2L, 0L, "v", "alice"))).isTrue();
+        }
+    }
+
+    private record Vote(String type, long h, long r, String idV, String sender) {
+
+        private Group group() {
+            return new Group(type, h, r, idV);
+        }
+    }
+
+    private record Group(String type, long h, long r, String idV) {
+    }
+}